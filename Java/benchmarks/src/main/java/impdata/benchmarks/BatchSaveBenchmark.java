@@ -0,0 +1,49 @@
+package impdata.benchmarks;
+
+import impdata.multithreading.Employee;
+import impdata.multithreading.MultithreadingEmployeeBatchSaveSimulation;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+// Overhead of the batch-save pipeline itself (splitting, task creation, invokeAll, summing),
+// with the simulated DB delay and failing batch switched off
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BatchSaveBenchmark {
+
+    private static final int EMPLOYEE_COUNT = 100_000;
+
+    @Param({ "100", "1000" })
+    public int batchSize;
+
+    @Param({ "4", "64" })
+    public int threads;
+
+    private List<Employee> employees;
+    private ExecutorService executor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        employees = MultithreadingEmployeeBatchSaveSimulation.generateEmployees(EMPLOYEE_COUNT);
+        executor = Executors.newFixedThreadPool(threads);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.shutdown();
+    }
+
+    @Benchmark
+    public int batchSave() {
+        return MultithreadingEmployeeBatchSaveSimulation.executeTasksAndSumResults(executor,
+                MultithreadingEmployeeBatchSaveSimulation.createBatchSaveTasks(employees, batchSize, 0, -1));
+    }
+}
@@ -0,0 +1,69 @@
+package impdata.benchmarks;
+
+import impdata.multithreading.AsyncLogger;
+import impdata.multithreading.Employee;
+import impdata.multithreading.MultithreadingEmployeeBatchSaveSimulation;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+// Wall time of the simulation's batch save (1M employees, batches of 100, 64 threads, no DB delay)
+// when every batch logs "Saved batch: n", the line the simulation keeps commented out
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BatchSaveLoggingBenchmark {
+
+    private static final int EMPLOYEE_COUNT = 1_000_000;
+    private static final int BATCH_SIZE = 100;
+    private static final int THREADS = 64;
+
+    @Param({ "none", "legacy", "async" })
+    public String logging;
+
+    private List<Employee> employees;
+    private ExecutorService executor;
+    private PrintStream sink;
+    private AsyncLogger asyncLogger;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        employees = MultithreadingEmployeeBatchSaveSimulation.generateEmployees(EMPLOYEE_COUNT);
+        executor = Executors.newFixedThreadPool(THREADS);
+        sink = new PrintStream(OutputStream.nullOutputStream());
+        asyncLogger = new AsyncLogger(sink, 1 << 14, AsyncLogger.OverflowPolicy.BLOCK);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.shutdown();
+        asyncLogger.close();
+    }
+
+    @Benchmark
+    public int batchSave() {
+        List<Callable<Integer>> tasks = new ArrayList<>();
+        for (Callable<Integer> save : MultithreadingEmployeeBatchSaveSimulation.createBatchSaveTasks(employees, BATCH_SIZE, 0, -1)) {
+            tasks.add(() -> {
+                int saved = save.call();
+                switch (logging) {
+                    case "legacy" -> LoggingBenchmark.legacyLog(sink, "Saved batch: " + saved);
+                    case "async" -> asyncLogger.append("Saved batch: " + saved);
+                    default -> { }
+                }
+                return saved;
+            });
+        }
+        return MultithreadingEmployeeBatchSaveSimulation.executeTasksAndSumResults(executor, tasks);
+    }
+}
@@ -0,0 +1,149 @@
+package impdata.benchmarks;
+
+import impdata.carrental.Car;
+import impdata.carrental.CarRentalController;
+import impdata.carrental.CarRentalMetrics;
+import impdata.carrental.InMemoryRentalLedger;
+import impdata.carrental.MappedRentalLedger;
+import impdata.carrental.RentalLedger;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+// Lookups and analytics of CarRentalController against an in-memory fleet and rental ledger
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CarRentalControllerBenchmark {
+
+    private static final String[] MODELS = { "Corolla", "Civic", "Model 3", "Golf", "Swift" };
+    private static final int CUSTOMER_COUNT = 1_000;
+    private static final int RENTALS_PER_CAR = 5;
+
+    @Param({ "1000", "5000" })
+    public int cars;
+
+    // memory: RentalRecord objects on the heap; mapped: MappedRentalLedger in a temp file
+    @Param({ "memory", "mapped" })
+    public String ledger;
+
+    private CarRentalController controller;
+    private RentalLedger rentalLedger;
+    private Path ledgerFile;
+    private int carId;
+    private int customerId;
+    private int rentalId;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        if (ledger.equals("mapped")) {
+            ledgerFile = Files.createTempFile("rental-ledger", ".bin");
+            Files.delete(ledgerFile);
+            rentalLedger = new MappedRentalLedger(ledgerFile);
+        } else {
+            rentalLedger = new InMemoryRentalLedger();
+        }
+        controller = new CarRentalController(new CarRentalMetrics(new SimpleMeterRegistry()), rentalLedger);
+        for (int id = 1; id <= cars; id++) {
+            controller.addCar(new Car(id, MODELS[id % MODELS.length], 2015 + id % 10, true));
+        }
+        LocalDate start = LocalDate.of(2024, 1, 1);
+        int nextRentalId = 1;
+        for (int round = 0; round < RENTALS_PER_CAR; round++) {
+            for (int id = 1; id <= cars; id++) {
+                LocalDate rentedOn = start.plusDays(round * 7L + id % 7);
+                controller.rentCar(nextRentalId, id, nextRentalId % CUSTOMER_COUNT, rentedOn.toString());
+                controller.returnCar(nextRentalId, rentedOn.plusDays(1 + id % 5).toString());
+                nextRentalId++;
+            }
+        }
+        carId = cars / 2;
+        customerId = CUSTOMER_COUNT / 2;
+        rentalId = nextRentalId / 2;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        if (ledgerFile != null) {
+            Files.deleteIfExists(ledgerFile);
+        }
+    }
+
+    @Benchmark
+    public Car getCarById() {
+        return controller.getCarById(carId);
+    }
+
+    @Benchmark
+    public List<Car> getAvailableCars() {
+        return controller.getAvailableCars();
+    }
+
+    @Benchmark
+    public Object getRentalById() {
+        return controller.getRentalById(rentalId);
+    }
+
+    @Benchmark
+    public Object getRentalsForCar() {
+        return controller.getRentalsForCar(carId);
+    }
+
+    @Benchmark
+    public Object getRentalsForCustomer() {
+        return controller.getRentalsForCustomer(customerId);
+    }
+
+    @Benchmark
+    public String getMostPopularModel() {
+        return controller.getMostPopularModel();
+    }
+
+    @Benchmark
+    public double getTotalRentalFees() {
+        return controller.getTotalRentalFees();
+    }
+
+    @Benchmark
+    public double getTotalFeesForCustomer() {
+        return controller.getTotalFeesForCustomer(customerId);
+    }
+
+    @Benchmark
+    public long getRentalDurationForCar() {
+        return controller.getRentalDurationForCar(carId);
+    }
+
+    // One week in the middle of the rentals, through the interval index
+    @Benchmark
+    public Object getRentalsBetween() {
+        return controller.getRentalsBetween("2024-01-15", "2024-01-21");
+    }
+
+    // The same week by checking every ledger row, as before the index
+    @Benchmark
+    public int[] getRentalsBetweenByScan() {
+        int fromDay = (int) LocalDate.parse("2024-01-15").toEpochDay();
+        int toDay = (int) LocalDate.parse("2024-01-21").toEpochDay();
+        return IntStream.range(0, rentalLedger.size())
+                .filter(row -> rentalLedger.startDay(row) <= toDay
+                        && (rentalLedger.endDay(row) == RentalLedger.OPEN
+                            || Math.max(rentalLedger.endDay(row), rentalLedger.startDay(row) + 1) > fromDay))
+                .toArray();
+    }
+
+    @Benchmark
+    public Object getDailyUtilization() {
+        return controller.getDailyUtilization("2024-01-01", "2024-03-31");
+    }
+}
@@ -0,0 +1,96 @@
+package impdata.benchmarks;
+
+import impdata.carrental.Car;
+import impdata.carrental.CarRentalController;
+import impdata.carrental.CarRentalJournal;
+import impdata.carrental.CarRentalMetrics;
+import impdata.carrental.FileCarRentalJournal;
+import impdata.carrental.InMemoryRentalLedger;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.ThreadParams;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+// Write-path cost of journaling: one rent + return per operation against a 1M-car fleet.
+// none: no journal; async: flushed every 5 ms, nothing waits; sync: every write waits for its
+// fsync, shared with whatever other writers arrived meanwhile (group commit)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class CarRentalJournalBenchmark {
+
+    private static final int CAR_COUNT = 1_000_000;
+
+    @Param({ "none", "async", "sync" })
+    public String journal;
+
+    private CarRentalController controller;
+    private FileCarRentalJournal fileJournal;
+    private Path directory;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        CarRentalJournal carRentalJournal = CarRentalJournal.NONE;
+        if (!journal.equals("none")) {
+            directory = Files.createTempDirectory("car-rental-journal");
+            fileJournal = new FileCarRentalJournal(directory, journal.equals("sync"), 5);
+            fileJournal.start(0);
+            carRentalJournal = fileJournal;
+        }
+        controller = new CarRentalController(new CarRentalMetrics(new SimpleMeterRegistry()),
+                new InMemoryRentalLedger(), carRentalJournal);
+        for (int id = 1; id <= CAR_COUNT; id++) {
+            controller.addCar(new Car(id, "Corolla", 2020, true));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        if (fileJournal != null) {
+            fileJournal.close();
+            try (Stream<Path> files = Files.walk(directory)) {
+                files.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+            }
+        }
+    }
+
+    // Each benchmark thread cycles its own car with its own range of rental ids
+    @State(Scope.Thread)
+    public static class Renter {
+        int carId;
+        int rentalId;
+
+        @Setup(Level.Trial)
+        public void setUp(ThreadParams threads) {
+            carId = threads.getThreadIndex() + 1;
+            rentalId = threads.getThreadIndex() * 100_000_000;
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void rentAndReturn(Renter renter) {
+        cycle(renter);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public void rentAndReturn8Threads(Renter renter) {
+        cycle(renter);
+    }
+
+    private void cycle(Renter renter) {
+        int rentalId = ++renter.rentalId;
+        controller.rentCar(rentalId, renter.carId, rentalId % 1_000, "2024-01-01");
+        controller.returnCar(rentalId, "2024-01-04");
+    }
+}
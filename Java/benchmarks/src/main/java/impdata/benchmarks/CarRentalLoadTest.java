@@ -0,0 +1,164 @@
+package impdata.benchmarks;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+// Load test against a running car-rental service: rent p99 with writes alone, then with an
+// analytics flood (/rentals, /popular, /utilization) running alongside. Flood clients honour the
+// Retry-After hint of a 503, as well-behaved clients would.
+//
+//   java -cp benchmarks.jar impdata.benchmarks.CarRentalLoadTest [baseUrl] [writers] [flooders] [seconds]
+//
+// Start the service with cars.limits.enabled=false to see the unprotected numbers.
+public class CarRentalLoadTest {
+
+    private static final int CARS_PER_WRITER = 64;
+    private static final int SEED_RENTALS = 20_000;
+
+    private final String baseUrl;
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final AtomicInteger nextRentalId = new AtomicInteger(1);
+
+    public CarRentalLoadTest(String baseUrl) {
+        this.baseUrl = baseUrl;
+    }
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = args.length > 0 ? args[0] : "http://localhost:8080";
+        int writers = args.length > 1 ? Integer.parseInt(args[1]) : 8;
+        int flooders = args.length > 2 ? Integer.parseInt(args[2]) : 64;
+        int seconds = args.length > 3 ? Integer.parseInt(args[3]) : 20;
+
+        CarRentalLoadTest test = new CarRentalLoadTest(baseUrl);
+        test.seed(writers);
+        test.run("warmup", writers, 0, seconds / 2);
+        test.run("writes only", writers, 0, seconds);
+        test.run("writes + analytics flood", writers, flooders, seconds);
+    }
+
+    // Cars 1..writers*CARS_PER_WRITER, each writer owning its own block, plus closed rentals for
+    // the analytics endpoints to chew on
+    private void seed(int writers) throws Exception {
+        int cars = writers * CARS_PER_WRITER;
+        for (int id = 1; id <= cars; id++) {
+            post("/cars/add", "{\"id\":" + id + ",\"model\":\"Model" + (id % 20) + "\",\"year\":" + (2015 + id % 10) + ",\"available\":true}");
+        }
+        LocalDate start = LocalDate.of(2020, 1, 1);
+        for (int i = 0; i < SEED_RENTALS; i++) {
+            int rentalId = nextRentalId.getAndIncrement();
+            int carId = 1 + i % cars;
+            LocalDate day = start.plusDays(i / cars);
+            post("/cars/rent?rentalId=" + rentalId + "&carId=" + carId + "&customerId=" + (i % 500) + "&startDate=" + day, null);
+            post("/cars/return?rentalId=" + rentalId + "&endDate=" + day.plusDays(1 + i % 7), null);
+        }
+    }
+
+    private void run(String phase, int writers, int flooders, int seconds) throws InterruptedException {
+        AtomicBoolean running = new AtomicBoolean(true);
+        LongAdder writesShed = new LongAdder();
+        LongAdder analyticsDone = new LongAdder();
+        LongAdder analyticsShed = new LongAdder();
+        long[][] latencies = new long[writers][];
+        List<Thread> threads = new ArrayList<>();
+
+        for (int w = 0; w < writers; w++) {
+            int writer = w;
+            threads.add(new Thread(() -> latencies[writer] = rentLoop(writer, running, writesShed)));
+        }
+        String[] queries = { "/cars/rentals", "/cars/popular", "/cars/utilization?from=2020-01-01&to=2020-12-31" };
+        for (int f = 0; f < flooders; f++) {
+            String query = queries[f % queries.length];
+            threads.add(new Thread(() -> floodLoop(query, running, analyticsDone, analyticsShed)));
+        }
+        threads.forEach(Thread::start);
+        Thread.sleep(seconds * 1000L);
+        running.set(false);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        long[] all = Arrays.stream(latencies).flatMapToLong(Arrays::stream).sorted().toArray();
+        System.out.printf("%-26s rents=%d (%.0f/s) p50=%.2fms p99=%.2fms p99.9=%.2fms writesShed=%d analytics=%d analyticsShed=%d%n",
+                phase, all.length, all.length / (double) seconds,
+                percentile(all, 0.5), percentile(all, 0.99), percentile(all, 0.999),
+                writesShed.sum(), analyticsDone.sum(), analyticsShed.sum());
+    }
+
+    // Rents and returns this writer's cars in turn; returns each rent's latency in nanos
+    private long[] rentLoop(int writer, AtomicBoolean running, LongAdder shed) {
+        long[] samples = new long[1 << 16];
+        int count = 0;
+        int firstCar = 1 + writer * CARS_PER_WRITER;
+        for (int i = 0; running.get(); i++) {
+            int rentalId = nextRentalId.getAndIncrement();
+            int carId = firstCar + i % CARS_PER_WRITER;
+            long start = System.nanoTime();
+            int status = post("/cars/rent?rentalId=" + rentalId + "&carId=" + carId + "&customerId=" + writer + "&startDate=2021-06-01", null);
+            long elapsed = System.nanoTime() - start;
+            if (status == 503) {
+                shed.increment();
+                continue;
+            }
+            if (count == samples.length) samples = Arrays.copyOf(samples, count * 2);
+            samples[count++] = elapsed;
+            post("/cars/return?rentalId=" + rentalId + "&endDate=2021-06-03", null);
+        }
+        return Arrays.copyOf(samples, count);
+    }
+
+    private void floodLoop(String query, AtomicBoolean running, LongAdder done, LongAdder shed) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + query)).GET().build();
+        while (running.get()) {
+            try {
+                HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                if (response.statusCode() == 503) {
+                    shed.increment();
+                    long retryAfter = response.headers().firstValueAsLong("Retry-After").orElse(1);
+                    sleepWhile(running, retryAfter * 1000);
+                } else {
+                    done.increment();
+                }
+            } catch (Exception e) {
+                if (e instanceof InterruptedException) return;
+            }
+        }
+    }
+
+    private int post(String path, String json) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path));
+        if (json == null) {
+            request.POST(HttpRequest.BodyPublishers.noBody());
+        } else {
+            request.header("Content-Type", "application/json").POST(HttpRequest.BodyPublishers.ofString(json));
+        }
+        try {
+            return client.send(request.build(), HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (Exception e) {
+            throw new IllegalStateException("POST " + path + " failed", e);
+        }
+    }
+
+    private static void sleepWhile(AtomicBoolean running, long millis) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + millis;
+        while (running.get() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) return 0;
+        return sorted[Math.min(sorted.length - 1, (int) (sorted.length * p))] / 1e6;
+    }
+}
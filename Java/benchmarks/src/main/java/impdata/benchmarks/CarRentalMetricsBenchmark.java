@@ -0,0 +1,45 @@
+package impdata.benchmarks;
+
+import impdata.carrental.CarRentalMetrics;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// Per-request cost of the /cars instrumentation: look up the endpoint timer, record a latency into
+// its percentile histogram, bump a conflict counter. gc.alloc.rate.norm should stay at ~0 B/op.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CarRentalMetricsBenchmark {
+
+    private static final String ENDPOINT = "/cars/popular";
+
+    private CarRentalMetrics metrics;
+    private long latencyNanos;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        metrics = new CarRentalMetrics(new SimpleMeterRegistry());
+        metrics.timer(ENDPOINT);
+        latencyNanos = 250_000;
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Timer recordRequest() {
+        Timer timer = metrics.timer(ENDPOINT);
+        timer.record(latencyNanos, TimeUnit.NANOSECONDS);
+        return timer;
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void countConflict() {
+        metrics.rentConflict();
+    }
+}
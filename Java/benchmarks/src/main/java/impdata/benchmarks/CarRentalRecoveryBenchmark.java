@@ -0,0 +1,110 @@
+package impdata.benchmarks;
+
+import impdata.carrental.Car;
+import impdata.carrental.CarRentalController;
+import impdata.carrental.CarRentalMetrics;
+import impdata.carrental.CarRentalPersistence;
+import impdata.carrental.FileCarRentalJournal;
+import impdata.carrental.InMemoryRentalLedger;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+// Startup time of a journaled controller holding `cars` cars and `rentals` closed rentals.
+// snapshot: newest snapshot plus a journal tail of `tail` rent/return events;
+// journal: no snapshot at all, every event since the first addCar is replayed
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class CarRentalRecoveryBenchmark {
+
+    private static final String[] MODELS = { "Corolla", "Civic", "Model 3", "Golf", "Swift" };
+
+    @Param({ "1000000" })
+    public int cars;
+
+    @Param({ "10000000" })
+    public int rentals;
+
+    @Param({ "100000" })
+    public int tail;
+
+    @Param({ "snapshot", "journal" })
+    public String source;
+
+    private Path directory;
+    private CarRentalController recovered;
+    private FileCarRentalJournal recoveredJournal;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("car-rental-recovery");
+        FileCarRentalJournal journal = new FileCarRentalJournal(directory, false, 5);
+        journal.start(0);
+        CarRentalController controller = newController(journal);
+        CarRentalPersistence persistence = new CarRentalPersistence(controller, journal);
+
+        for (int id = 1; id <= cars; id++) {
+            controller.addCar(new Car(id, MODELS[id % MODELS.length], 2015 + id % 10, true));
+        }
+        String[] days = new String[64];
+        LocalDate start = LocalDate.of(2024, 1, 1);
+        for (int i = 0; i < days.length; i++) {
+            days[i] = start.plusDays(i).toString();
+        }
+        int rentalId = 0;
+        for (; rentalId < rentals; rentalId++) {
+            rentAndReturn(controller, rentalId, days);
+        }
+        if (source.equals("snapshot")) {
+            persistence.snapshot();
+        }
+        for (int i = 0; i < tail / 2; i++, rentalId++) {
+            rentAndReturn(controller, rentalId, days);
+        }
+        journal.close();
+    }
+
+    @TearDown(Level.Iteration)
+    public void closeRecovered() throws IOException {
+        if (recoveredJournal != null) recoveredJournal.close();
+        recovered = null;
+        recoveredJournal = null;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public CarRentalController recover() {
+        recoveredJournal = new FileCarRentalJournal(directory, false, 5);
+        recovered = newController(recoveredJournal);
+        new CarRentalPersistence(recovered, recoveredJournal).recover();
+        return recovered;
+    }
+
+    private static CarRentalController newController(FileCarRentalJournal journal) {
+        return new CarRentalController(new CarRentalMetrics(new SimpleMeterRegistry()), new InMemoryRentalLedger(), journal);
+    }
+
+    private void rentAndReturn(CarRentalController controller, int rentalId, String[] days) {
+        int carId = rentalId % cars + 1;
+        int day = rentalId % 32;
+        controller.rentCar(rentalId, carId, rentalId % 100_000, days[day]);
+        controller.returnCar(rentalId, days[day + 1 + rentalId % 7]);
+    }
+}
@@ -0,0 +1,141 @@
+package impdata.benchmarks;
+
+import impdata.collections.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+// The CollectionsAndGenericTesting structures next to their primitive / array-backed replacements
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CollectionsBenchmark {
+
+    @Param({ "100000" })
+    public int size;
+
+    private int[] keys;
+    private Integer[] boxed;
+    private Employee employee;
+    private List<Integer> arrayList;
+    private GenericList<Integer> genericList;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        keys = new int[size];
+        boxed = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            keys[i] = i + 1_000;
+        }
+        Random rand = new Random(42);
+        for (int i = size - 1; i > 0; i--) {
+            int j = rand.nextInt(i + 1);
+            int temp = keys[i];
+            keys[i] = keys[j];
+            keys[j] = temp;
+        }
+        for (int i = 0; i < size; i++) {
+            boxed[i] = keys[i];
+        }
+        employee = new Employee(101, "Name1");
+        arrayList = new ArrayList<>(Arrays.asList(boxed));
+        genericList = new GenericList<>();
+        genericList.addAll(Arrays.asList(boxed));
+    }
+
+    @Benchmark
+    public int hashMapPutGet() {
+        Map<Integer, Employee> map = new HashMap<>();
+        for (int key : keys) map.put(key, employee);
+        int hits = 0;
+        for (int key : keys) if (map.get(key) != null) hits++;
+        return hits;
+    }
+
+    @Benchmark
+    public int intObjectHashMapPutGet() {
+        IntObjectHashMap<Employee> map = new IntObjectHashMap<>();
+        for (int key : keys) map.put(key, employee);
+        int hits = 0;
+        for (int key : keys) if (map.get(key) != null) hits++;
+        return hits;
+    }
+
+    @Benchmark
+    public int treeMapPutGet() {
+        SortedMap<Integer, Employee> map = new TreeMap<>();
+        for (int key = 0; key < size; key++) map.put(key, employee);
+        int hits = 0;
+        for (int key : keys) if (map.get(key) != null) hits++;
+        return hits;
+    }
+
+    @Benchmark
+    public int intSortedMapPutGet() {
+        IntSortedMap<Employee> map = new IntSortedMap<>();
+        for (int key = 0; key < size; key++) map.put(key, employee);
+        int hits = 0;
+        for (int key : keys) if (map.get(key) != null) hits++;
+        return hits;
+    }
+
+    @Benchmark
+    public long linkedListAddIterate() {
+        LinkedList<Integer> list = new LinkedList<>();
+        for (int key : keys) list.addLast(key);
+        long sum = 0;
+        for (int number : list) sum += number;
+        return sum;
+    }
+
+    @Benchmark
+    public long intArrayDequeAddIterate() {
+        IntArrayDeque list = new IntArrayDeque();
+        for (int key : keys) list.addLast(key);
+        long[] sum = new long[1];
+        list.forEach(number -> sum[0] += number);
+        return sum[0];
+    }
+
+    @Benchmark
+    public int arrayListAdd() {
+        List<Integer> list = new ArrayList<>();
+        for (Integer value : boxed) list.add(value);
+        return list.size();
+    }
+
+    @Benchmark
+    public int genericListAdd() {
+        GenericList<Integer> list = new GenericList<>();
+        for (Integer value : boxed) list.add(value);
+        return list.size();
+    }
+
+    @Benchmark
+    public long arrayListIterate() {
+        long sum = 0;
+        for (int n : arrayList) sum += n;
+        return sum;
+    }
+
+    @Benchmark
+    public long genericListIterate() {
+        long sum = 0;
+        for (int n : genericList) sum += n;
+        return sum;
+    }
+
+    @Benchmark
+    public long arrayListParallelSum() {
+        return arrayList.parallelStream().mapToLong(Integer::longValue).sum();
+    }
+
+    @Benchmark
+    public long genericListParallelSum() {
+        return genericList.parallelStream().mapToLong(Integer::longValue).sum();
+    }
+}
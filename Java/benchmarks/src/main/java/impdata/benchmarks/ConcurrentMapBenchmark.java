@@ -0,0 +1,51 @@
+package impdata.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Hashtable;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Shared map under a 7/8 get, 1/8 put mix over 64K keys; run with -t 1, 4, 16 and 64.
+// Hashtable is the CollectionsAndGenericTesting map, one monitor for every call; ConcurrentHashMap
+// is what to use instead.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class ConcurrentMapBenchmark {
+
+    private static final int KEYS = 1 << 16;
+
+    @Param({ "hashtable", "concurrentHashMap" })
+    public String map;
+
+    private Map<Integer, Integer> target;
+    private Integer[] keys;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        target = switch (map) {
+            case "hashtable" -> new Hashtable<>();
+            case "concurrentHashMap" -> new ConcurrentHashMap<>();
+            default -> throw new IllegalArgumentException(map);
+        };
+        keys = new Integer[KEYS];
+        for (int i = 0; i < KEYS; i++) {
+            keys[i] = i;
+            target.put(keys[i], keys[i]);
+        }
+    }
+
+    @Benchmark
+    public Object getPut() {
+        int r = ThreadLocalRandom.current().nextInt();
+        Integer key = keys[r & (KEYS - 1)];
+        return (r >>> 28) < 14 ? target.get(key) : target.put(key, key);
+    }
+}
@@ -0,0 +1,79 @@
+package impdata.benchmarks;
+
+import impdata.collections.MpmcArrayQueue;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.LinkedList;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+// Many producers and consumers on one queue: every thread offers and then polls, so each element
+// usually comes out on a different thread than it went in. Run at several thread counts, e.g.
+//   java -jar benchmarks.jar ConcurrentQueueBenchmark -t 1   (and -t 4, -t 16, -t 64)
+// linkedList is the CollectionsAndGenericTesting queue behind a monitor, since LinkedList itself
+// isn't thread-safe.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class ConcurrentQueueBenchmark {
+
+    private static final int CAPACITY = 1024;
+    private static final int PREFILL = 256;
+
+    @Param({ "linkedList", "arrayBlockingQueue", "concurrentLinkedQueue", "mpmcArrayQueue" })
+    public String queue;
+
+    private Ops ops;
+    private final Object element = new Object();
+
+    private interface Ops {
+        boolean offer(Object element);
+        Object poll();
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ops = switch (queue) {
+            case "linkedList" -> locked(new LinkedList<>());
+            case "arrayBlockingQueue" -> wrap(new ArrayBlockingQueue<>(CAPACITY));
+            case "concurrentLinkedQueue" -> wrap(new ConcurrentLinkedQueue<>());
+            case "mpmcArrayQueue" -> {
+                MpmcArrayQueue<Object> ring = new MpmcArrayQueue<>(CAPACITY);
+                yield new Ops() {
+                    @Override public boolean offer(Object e) { return ring.offer(e); }
+                    @Override public Object poll() { return ring.poll(); }
+                };
+            }
+            default -> throw new IllegalArgumentException(queue);
+        };
+        for (int i = 0; i < PREFILL; i++) {
+            ops.offer(element);
+        }
+    }
+
+    @Benchmark
+    public Object offerPoll() {
+        ops.offer(element);
+        return ops.poll();
+    }
+
+    private static Ops wrap(Queue<Object> q) {
+        return new Ops() {
+            @Override public boolean offer(Object e) { return q.offer(e); }
+            @Override public Object poll() { return q.poll(); }
+        };
+    }
+
+    private static Ops locked(Queue<Object> q) {
+        return new Ops() {
+            @Override public boolean offer(Object e) { synchronized (q) { return q.offer(e); } }
+            @Override public Object poll() { synchronized (q) { return q.poll(); } }
+        };
+    }
+}
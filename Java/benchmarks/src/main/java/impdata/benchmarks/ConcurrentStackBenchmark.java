@@ -0,0 +1,79 @@
+package impdata.benchmarks;
+
+import impdata.collections.TreiberStack;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Stack;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
+
+// Every thread pushes and then pops on one shared stack; run with -t 1, 4, 16 and 64.
+// java.util.Stack synchronizes each call on the Vector's monitor.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class ConcurrentStackBenchmark {
+
+    private static final int PREFILL = 256;
+
+    @Param({ "stack", "linkedBlockingDeque", "concurrentLinkedDeque", "treiberStack" })
+    public String stack;
+
+    private Ops ops;
+    private final Object element = new Object();
+
+    private interface Ops {
+        void push(Object element);
+        Object pop();
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ops = switch (stack) {
+            case "stack" -> {
+                Stack<Object> s = new Stack<>();
+                yield new Ops() {
+                    @Override public void push(Object e) { s.push(e); }
+                    // Stack.pop throws when empty; check and pop under the same monitor
+                    @Override public Object pop() { synchronized (s) { return s.isEmpty() ? null : s.pop(); } }
+                };
+            }
+            case "linkedBlockingDeque" -> {
+                LinkedBlockingDeque<Object> d = new LinkedBlockingDeque<>();
+                yield new Ops() {
+                    @Override public void push(Object e) { d.offerFirst(e); }
+                    @Override public Object pop() { return d.pollFirst(); }
+                };
+            }
+            case "concurrentLinkedDeque" -> {
+                ConcurrentLinkedDeque<Object> d = new ConcurrentLinkedDeque<>();
+                yield new Ops() {
+                    @Override public void push(Object e) { d.offerFirst(e); }
+                    @Override public Object pop() { return d.pollFirst(); }
+                };
+            }
+            case "treiberStack" -> {
+                TreiberStack<Object> s = new TreiberStack<>();
+                yield new Ops() {
+                    @Override public void push(Object e) { s.push(e); }
+                    @Override public Object pop() { return s.pop(); }
+                };
+            }
+            default -> throw new IllegalArgumentException(stack);
+        };
+        for (int i = 0; i < PREFILL; i++) {
+            ops.push(element);
+        }
+    }
+
+    @Benchmark
+    public Object pushPop() {
+        ops.push(element);
+        return ops.pop();
+    }
+}
@@ -0,0 +1,67 @@
+package impdata.benchmarks;
+
+import impdata.multithreading.AsyncLogger;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+
+// Log calls per microsecond from 8 threads into a discarding stream, so the numbers are the cost
+// of formatting and contention rather than of the terminal. legacy is the old per-call helper:
+// a new DateTimeFormatter each call and println on a synchronized PrintStream.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+public class LoggingBenchmark {
+
+    @Param({ "legacy", "drop", "block" })
+    public String logger;
+
+    private PrintStream sink;
+    private AsyncLogger asyncLogger;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        sink = new PrintStream(OutputStream.nullOutputStream());
+        if (!logger.equals("legacy")) {
+            AsyncLogger.OverflowPolicy policy = logger.equals("drop")
+                    ? AsyncLogger.OverflowPolicy.DROP : AsyncLogger.OverflowPolicy.BLOCK;
+            asyncLogger = new AsyncLogger(sink, 1 << 14, policy);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (asyncLogger != null) {
+            asyncLogger.close();
+            System.out.println("dropped: " + asyncLogger.droppedCount());
+        }
+    }
+
+    @Benchmark
+    public void log(ThreadIndex thread) {
+        String message = "Saved batch: " + thread.index;
+        if (asyncLogger == null) {
+            legacyLog(sink, message);
+        } else {
+            asyncLogger.append(message);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class ThreadIndex {
+        int index = (int) Thread.currentThread().getId();
+    }
+
+    static void legacyLog(PrintStream out, String message) {
+        String time = LocalTime.now().format(DateTimeFormatter.ofPattern("HH:mm:ss.SSS"));
+        out.println("[" + time + "] " + message);
+    }
+}
@@ -0,0 +1,80 @@
+package impdata.benchmarks;
+
+import impdata.carrental.Car;
+import impdata.carrental.CarRentalController;
+import impdata.carrental.CarRentalMetrics;
+import impdata.carrental.InMemoryRentalLedger;
+import impdata.carrental.MappedRentalLedger;
+import impdata.carrental.RentalLedger;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+// Time and allocation of the rent/return request path, run with -prof gc (gc.alloc.rate.norm is
+// bytes per request pair). The mapped ledger stores no objects per rental, so what it allocates
+// is the request path itself; the memory ledger adds its RentalRecord per rental.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class RentalRequestBenchmark {
+
+    private static final int CAR_COUNT = 10_000;
+    private static final int RENTALS_PER_CAR = 10;
+
+    @Param({ "memory", "mapped" })
+    public String ledger;
+
+    private CarRentalController controller;
+    private Path ledgerFile;
+    private int rentalId;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        RentalLedger rentalLedger;
+        if (ledger.equals("mapped")) {
+            ledgerFile = Files.createTempFile("rental-ledger", ".bin");
+            Files.delete(ledgerFile);
+            rentalLedger = new MappedRentalLedger(ledgerFile);
+        } else {
+            rentalLedger = new InMemoryRentalLedger();
+        }
+        controller = new CarRentalController(new CarRentalMetrics(new SimpleMeterRegistry()), rentalLedger);
+        for (int id = 1; id <= CAR_COUNT; id++) {
+            controller.addCar(new Car(id, "Corolla", 2020, true));
+        }
+        for (int round = 0; round < RENTALS_PER_CAR; round++) {
+            for (int carId = 1; carId <= CAR_COUNT; carId++) {
+                int id = ++rentalId;
+                controller.rentCar(id, carId, id % 1_000, "2024-01-0" + (1 + round % 5));
+                controller.returnCar(id, "2024-02-1" + round % 10);
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        if (ledgerFile != null) {
+            Files.deleteIfExists(ledgerFile);
+        }
+    }
+
+    @Benchmark
+    public void rentAndReturn() {
+        int id = ++rentalId;
+        int carId = id % CAR_COUNT + 1;
+        controller.rentCar(id, carId, id % 1_000, "2024-03-01");
+        controller.returnCar(id, "2024-03-04");
+    }
+
+    @Benchmark
+    public long getRentalDurationForCar() {
+        return controller.getRentalDurationForCar(CAR_COUNT / 2);
+    }
+}
@@ -0,0 +1,106 @@
+package impdata.benchmarks;
+
+import impdata.carrental.Car;
+import impdata.carrental.CarRentalController;
+import impdata.carrental.CarRentalJournal;
+import impdata.carrental.CarRentalMetrics;
+import impdata.carrental.FileCarRentalJournal;
+import impdata.carrental.InMemoryRentalLedger;
+import impdata.carrental.ShardedCarRentalController;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.ThreadParams;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+// Rent + return throughput through ShardedCarRentalController over in-process shards, 8 client
+// threads. Each shard has its own lock and, with journal=sync, its own group-committed journal, so
+// writes to different shards proceed independently.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+public class ShardedCarRentalBenchmark {
+
+    private static final int CAR_COUNT = 10_000;
+    private static final int CARS_PER_THREAD = 256;
+
+    @Param({ "1", "2", "4", "8" })
+    public int shards;
+
+    @Param({ "none", "sync" })
+    public String journal;
+
+    private ShardedCarRentalController router;
+    private final List<FileCarRentalJournal> journals = new ArrayList<>();
+    private final List<Path> directories = new ArrayList<>();
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Map<String, CarRentalController> shardsByName = new LinkedHashMap<>();
+        for (int i = 0; i < shards; i++) {
+            CarRentalJournal shardJournal = CarRentalJournal.NONE;
+            if (journal.equals("sync")) {
+                Path directory = Files.createTempDirectory("car-rental-shard");
+                FileCarRentalJournal fileJournal = new FileCarRentalJournal(directory, true, 5);
+                fileJournal.start(0);
+                directories.add(directory);
+                journals.add(fileJournal);
+                shardJournal = fileJournal;
+            }
+            shardsByName.put("shard-" + i, new CarRentalController(new CarRentalMetrics(new SimpleMeterRegistry()),
+                    new InMemoryRentalLedger(), shardJournal));
+        }
+        router = new ShardedCarRentalController(shardsByName);
+        for (int id = 1; id <= CAR_COUNT; id++) {
+            router.addCar(new Car(id, "Corolla", 2020, true));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        router.close();
+        for (FileCarRentalJournal fileJournal : journals) {
+            fileJournal.close();
+        }
+        for (Path directory : directories) {
+            try (Stream<Path> files = Files.walk(directory)) {
+                files.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+            }
+        }
+    }
+
+    // Each thread cycles through its own cars, spread over all shards by the ring
+    @State(Scope.Thread)
+    public static class Renter {
+        int firstCar;
+        int next;
+        int rentalId;
+
+        @Setup(Level.Trial)
+        public void setUp(ThreadParams threads) {
+            firstCar = threads.getThreadIndex() * CARS_PER_THREAD + 1;
+            rentalId = threads.getThreadIndex() * 100_000_000;
+        }
+    }
+
+    @Benchmark
+    public void rentAndReturn(Renter renter) {
+        int carId = renter.firstCar + renter.next++ % CARS_PER_THREAD;
+        int rentalId = ++renter.rentalId;
+        router.rentCar(rentalId, carId, rentalId % 1_000, "2024-01-01");
+        router.returnCar(rentalId, "2024-01-04");
+    }
+}
@@ -0,0 +1,140 @@
+package impdata.benchmarks;
+
+import impdata.streams.*;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// The StreamTesting operators (GroupBy, Join, GroupJoin, ThenBy/OrderBy, Select, All/Any) next to
+// the single-pass, top-K and projection alternatives
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StreamOperatorsBenchmark {
+
+    private static final int STANDARD_COUNT = 12;
+    private static final int PAGE_SIZE = 10;
+
+    @Param({ "100000" })
+    public int students;
+
+    private List<Student> studentList;
+    private List<Standard> standardList;
+    private Comparator<Student> byNameThenAge;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random rand = new Random(42);
+        studentList = new ArrayList<>(students);
+        for (int i = 1; i <= students; i++) {
+            Integer standardID = rand.nextInt(10) == 0 ? null : rand.nextInt(STANDARD_COUNT) + 1;
+            studentList.add(new Student(i, "Student_" + rand.nextInt(10_000), rand.nextInt(15) + 10, standardID));
+        }
+        standardList = new ArrayList<>();
+        for (int i = 1; i <= STANDARD_COUNT; i++) {
+            standardList.add(new Standard(i, "Standard " + i));
+        }
+        byNameThenAge = Comparator.comparing(Student::getStudentName).thenComparingInt(Student::getAge);
+    }
+
+    @Benchmark
+    public Map<Integer, List<Student>> groupBy() {
+        return studentList.stream().collect(Collectors.groupingBy(Student::getAge));
+    }
+
+    @Benchmark
+    public List<String> join() {
+        return studentList.stream()
+            .flatMap(studentObj -> standardList.stream()
+                .filter(std -> Objects.equals(std.getStandardID(), studentObj.getStandardID()))
+                .map(std -> studentObj.getStudentName() + " - " + std.getStandardName()))
+            .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public Map<Standard, List<Student>> groupJoin() {
+        return standardList.stream()
+            .collect(Collectors.toMap(
+                Function.identity(),
+                std -> studentList.stream()
+                    .filter(studentObj -> Objects.equals(studentObj.getStandardID(), std.getStandardID()))
+                    .collect(Collectors.toList())
+            ));
+    }
+
+    @Benchmark
+    public void statisticsMultiPass(Blackhole bh) {
+        bh.consume(studentList.stream().collect(Collectors.groupingBy(Student::getAge, Collectors.counting())));
+        bh.consume(studentList.stream().collect(Collectors.groupingBy(StreamOperatorsBenchmark::standardKey,
+                Collectors.summarizingInt(Student::getAge))));
+        bh.consume(studentList.stream().allMatch(s -> s.getAge() > 12 && s.getAge() < 20));
+        bh.consume(studentList.stream().anyMatch(s -> s.getAge() > 12 && s.getAge() < 20));
+        bh.consume(studentList.stream().sorted(byNameThenAge).limit(PAGE_SIZE).collect(Collectors.toList()));
+    }
+
+    @Benchmark
+    public AggregateResults statisticsSinglePass() {
+        MultiAggregator<Student> aggregator = new MultiAggregator<>();
+        aggregator.add(new IntGroupStats<>(Student::getAge, Student::getAge));
+        aggregator.add(new IntGroupStats<>(StreamOperatorsBenchmark::standardKey, Student::getAge));
+        aggregator.add(new PredicateCount<>(s -> s.getAge() > 12 && s.getAge() < 20));
+        aggregator.add(new TopK<>(PAGE_SIZE, byNameThenAge));
+        return studentList.stream().collect(aggregator.toCollector());
+    }
+
+    @Benchmark
+    public List<Student> orderByThenBySortedLimit() {
+        return studentList.stream().sorted(byNameThenAge).limit(PAGE_SIZE).collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<Student> orderByThenByTopK() {
+        return Ordering.top(studentList, PAGE_SIZE, byNameThenAge);
+    }
+
+    @Benchmark
+    public List<Student> orderByAgeSorted() {
+        return studentList.stream().sorted(Comparator.comparingInt(Student::getAge)).collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<Student> orderByAgeIntKey() {
+        return Ordering.sortedByInt(studentList, Student::getAge);
+    }
+
+    @Benchmark
+    public long selectMapOf() {
+        return studentList.stream()
+            .map(s -> Map.of("Name", s.getStudentName(), "Age", s.getAge()))
+            .mapToLong(item -> ((String) item.get("Name")).length() + (Integer) item.get("Age"))
+            .sum();
+    }
+
+    @Benchmark
+    public long selectRecord() {
+        return studentList.stream()
+            .map(s -> new StudentNameAge(s.getStudentName(), s.getAge()))
+            .mapToLong(item -> item.name().length() + item.age())
+            .sum();
+    }
+
+    @Benchmark
+    public long selectFlatConsumer() {
+        long[] total = new long[1];
+        Projections.forEachObjInt(studentList.stream(), Student::getStudentName, Student::getAge,
+            (name, age) -> total[0] += name.length() + age);
+        return total[0];
+    }
+
+    private static int standardKey(Student student) {
+        Integer standardID = student.getStandardID();
+        return standardID == null ? 0 : standardID;
+    }
+}
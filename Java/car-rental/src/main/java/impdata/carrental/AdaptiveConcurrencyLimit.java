@@ -0,0 +1,97 @@
+package impdata.carrental;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+// A concurrency limit that follows latency (a gradient limiter, as in TCP Vegas): a fast moving
+// average of request latency is compared with a slow one, and the limit shrinks by up to half when
+// recent requests get slower than the baseline, and grows by about sqrt(limit) while they don't.
+// Samples taken while less than half the limit is in use say nothing about capacity and are only
+// used for the averages.
+//
+// A class's own latency can't tell it that it slows a different class down; callers pair
+// isCongested() of one limit with backOff() of another for that.
+public class AdaptiveConcurrencyLimit {
+
+    private static final double TOLERANCE = 1.5;
+    private static final double SMOOTHING = 0.2;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile int limit;
+
+    // Guarded by this
+    private double estimatedLimit;
+    private double shortRttNanos;
+    private double longRttNanos;
+    private boolean sampled;
+    private long lastBackOffNanos;
+    private boolean backedOff;
+
+    public AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.estimatedLimit = initialLimit;
+        this.limit = initialLimit;
+    }
+
+    // False when the limit is reached; the caller should reject the request
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) return false;
+            if (inFlight.compareAndSet(current, current + 1)) return true;
+        }
+    }
+
+    public void release(long latencyNanos) {
+        int inFlightBefore = inFlight.getAndDecrement();
+        update(latencyNanos, inFlightBefore);
+    }
+
+    public int getLimit() { return limit; }
+
+    public int getInFlight() { return inFlight.get(); }
+
+    // True while recent requests run well above the baseline latency
+    public synchronized boolean isCongested() {
+        return sampled && shortRttNanos > TOLERANCE * longRttNanos;
+    }
+
+    // Halves the limit at once, for a lower priority class giving way to a congested one. At most
+    // once per recent latency of this class: until the requests admitted under the old limit have
+    // finished, the last halving can't have shown in the other class's latency yet.
+    public synchronized void backOff() {
+        long now = System.nanoTime();
+        if (backedOff && now - lastBackOffNanos < shortRttNanos) return;
+        backedOff = true;
+        lastBackOffNanos = now;
+        estimatedLimit = Math.max(minLimit, estimatedLimit / 2);
+        limit = (int) estimatedLimit;
+    }
+
+    // Seconds a rejected client should wait: the recent latency, at least one second
+    public synchronized long retryAfterSeconds() {
+        return Math.max(1, (long) Math.ceil(shortRttNanos / 1e9));
+    }
+
+    private synchronized void update(long latencyNanos, int inFlightBefore) {
+        if (!sampled) {
+            shortRttNanos = longRttNanos = latencyNanos;
+            sampled = true;
+            return;
+        }
+        shortRttNanos += (latencyNanos - shortRttNanos) * 0.1;
+        longRttNanos += (latencyNanos - longRttNanos) * 0.01;
+        // Let the baseline catch up quickly once a slow period is over
+        if (longRttNanos > 2 * shortRttNanos) longRttNanos *= 0.95;
+
+        if (inFlightBefore < estimatedLimit / 2) return;
+
+        double gradient = Math.max(0.5, Math.min(1.0, TOLERANCE * longRttNanos / shortRttNanos));
+        double newLimit = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit,
+                estimatedLimit * (1 - SMOOTHING) + newLimit * SMOOTHING));
+        limit = (int) estimatedLimit;
+    }
+}
@@ -0,0 +1,43 @@
+package impdata.carrental;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+// A list that only grows, appended to under its owner's write lock and read without any lock.
+// The array is published before the size that covers it, so a reader that sees size n also sees
+// an array of at least n elements with all n in place; a grown array is a copy, and the old one
+// stays valid for readers still holding it. Iteration and streams cover the elements present
+// when they start.
+final class AppendOnlyList<E> extends AbstractList<E> implements RandomAccess {
+
+    private volatile Object[] elements = new Object[16];
+    private volatile int size;
+
+    // Callers serialize appends
+    @Override
+    public boolean add(E element) {
+        Object[] current = elements;
+        int n = size;
+        if (n == current.length) {
+            current = Arrays.copyOf(current, n * 2);
+            elements = current;
+        }
+        current[n] = element;
+        size = n + 1;
+        return true;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E get(int index) {
+        Objects.checkIndex(index, size);
+        return (E) elements[index];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+}
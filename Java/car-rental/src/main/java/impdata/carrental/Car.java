@@ -0,0 +1,37 @@
+package impdata.carrental;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+
+@Entity
+public class Car {
+    // Longest model name accepted, in UTF-8 bytes; the JPA column's default length is 255 too
+    public static final int MAX_MODEL_BYTES = 255;
+
+    @Id
+    private int id;
+    private String model;
+    @Column(name = "model_year") // YEAR is reserved in H2
+    private int year;
+    private boolean available;
+
+    // Constructors
+    public Car() {}
+    public Car(int id, String model, int year, boolean available) {
+        this.id = id;
+        this.model = model;
+        this.year = year;
+        this.available = available;
+    }
+
+    // Getters & Setters
+    public int getId() { return id; }
+    public void setId(int id) { this.id = id; }
+    public String getModel() { return model; }
+    public void setModel(String model) { this.model = model; }
+    public int getYear() { return year; }
+    public void setYear(int year) { this.year = year; }
+    public boolean isAvailable() { return available; }
+    public void setAvailable(boolean available) { this.available = available; }
+}
@@ -0,0 +1,447 @@
+package impdata.carrental;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+// One shard's worth of state, or the whole service when cars.shards isn't set
+@RestController
+@RequestMapping("/cars")
+@ConditionalOnExpression("'${cars.shards:}'.isBlank()")
+public class CarRentalController implements CarRentalShard {
+
+    // Appended under the lock, read by lookups without it
+    private final List<Car> cars = new AppendOnlyList<>();
+    // First car added with each id, as getCarById would find it by scanning
+    private final Map<Integer, Car> carsById = new ConcurrentHashMap<>();
+    private final RentalLedger rentalRecords;
+    private final CarRentalMetrics metrics;
+    private final CarRentalJournal journal;
+    private final int earliestDay;
+    private final int latestDay;
+    private final int maxQueryDays;
+    // Heap indexes over the ledger, null when CarRentalOptions.heapIndexes is off:
+    // days of every returned rental per car, kept up to date on return, and rental periods
+    private final Map<Integer, AtomicLong> rentalDaysByCar;
+    private final RentalIntervalIndex rentalPeriods;
+
+    // Standalone use (benchmarks, tools) with a private registry and an in-memory ledger
+    public CarRentalController() {
+        this(new CarRentalMetrics(new SimpleMeterRegistry()), new InMemoryRentalLedger());
+    }
+
+    public CarRentalController(CarRentalMetrics metrics, RentalLedger rentalRecords) {
+        this(metrics, rentalRecords, CarRentalJournal.NONE);
+    }
+
+    public CarRentalController(CarRentalMetrics metrics, RentalLedger rentalRecords, CarRentalJournal journal) {
+        this(metrics, rentalRecords, journal, CarRentalOptions.DEFAULTS);
+    }
+
+    @Autowired
+    public CarRentalController(CarRentalMetrics metrics, RentalLedger rentalRecords, CarRentalJournal journal,
+                               CarRentalOptions options) {
+        this.metrics = metrics;
+        this.rentalRecords = rentalRecords;
+        this.journal = journal;
+        this.earliestDay = options.earliestDay();
+        this.latestDay = options.latestDay();
+        this.maxQueryDays = options.maxQueryDays();
+        this.rentalDaysByCar = options.heapIndexes() ? new ConcurrentHashMap<>() : null;
+        this.rentalPeriods = options.heapIndexes() ? new RentalIntervalIndex() : null;
+        // A mapped ledger may already hold rentals from an earlier run
+        for (int row = 0; row < rentalRecords.size() && rentalPeriods != null; row++) {
+            indexRental(row);
+        }
+        metrics.gauge("cars.fleet.size", "Cars in the fleet", cars, List::size);
+        metrics.gauge("cars.ledger.size", "Rental records in the ledger", rentalRecords, RentalLedger::size);
+    }
+
+    // Writes check and append to the journal under the lock, change state only once the append
+    // succeeded, then wait for the journal outside the lock so concurrent writers share one fsync.
+    // A journal that refuses an event (too large, or failed earlier) leaves the state untouched. If
+    // the fsync itself fails the caller gets an error for a change memory already shows; the journal
+    // then refuses every later write, and a restart recovers what reached the disk.
+    // Reads take no lock: the fleet and the ledgers can be read while they grow.
+
+    // Add a car
+    @PostMapping("/add")
+    public boolean addCar(@RequestBody Car car) {
+        String model = car.getModel();
+        if (model != null && model.getBytes(StandardCharsets.UTF_8).length > Car.MAX_MODEL_BYTES) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Model name longer than " + Car.MAX_MODEL_BYTES + " bytes");
+        }
+        long lsn;
+        synchronized (this) {
+            lsn = journal.addCar(car);
+            applyAddCar(car);
+        }
+        journal.awaitDurable(lsn);
+        return true;
+    }
+
+    // Get car by ID
+    @GetMapping("/{id}")
+    public Car getCarById(@PathVariable int id) {
+        return carsById.get(id);
+    }
+
+    // Get available cars
+    @GetMapping("/available")
+    public List<Car> getAvailableCars() {
+        return cars.stream()
+                .filter(Car::isAvailable)
+                .collect(Collectors.toList());
+    }
+
+    // Rent a car
+    @PostMapping("/rent")
+    public void rentCar(@RequestParam int rentalId,
+                        @RequestParam int carId,
+                        @RequestParam int customerId,
+                        @RequestParam String startDate) {
+        tryRent(rentalId, carId, customerId, startDate);
+    }
+
+    // /rent for a router, answering whether the rental was recorded
+    @PostMapping("/shard/rent")
+    @Override
+    public boolean tryRent(@RequestParam int rentalId,
+                           @RequestParam int carId,
+                           @RequestParam int customerId,
+                           @RequestParam String startDate) {
+        int startDay = requestDay(startDate);
+        long lsn;
+        synchronized (this) {
+            if (!canRent(rentalId, carId)) {
+                metrics.rentConflict();
+                return false;
+            }
+            lsn = journal.rent(rentalId, carId, customerId, startDay);
+            applyRent(rentalId, carId, customerId, startDay);
+        }
+        journal.awaitDurable(lsn);
+        return true;
+    }
+
+    // Return a car
+    @PostMapping("/return")
+    public void returnCar(@RequestParam int rentalId,
+                          @RequestParam String endDate) {
+        int returnDay = requestDay(endDate);
+        long lsn;
+        synchronized (this) {
+            if (rentalRecords.findOpen(rentalId) < 0) {
+                metrics.returnConflict();
+                return;
+            }
+            lsn = journal.returned(rentalId, returnDay);
+            applyReturn(rentalId, returnDay);
+        }
+        journal.awaitDurable(lsn);
+    }
+
+    // Get all rental records
+    @GetMapping("/rentals")
+    public List<RentalRecord> getAllRentalRecords() {
+        return RentalRecordView.all(rentalRecords);
+    }
+
+    // Get rentals for a car
+    @GetMapping("/{carId}/rentals")
+    public List<RentalRecord> getRentalsForCar(@PathVariable int carId) {
+        return RentalRecordView.of(rentalRecords, rows()
+                .filter(row -> rentalRecords.carId(row) == carId)
+                .toArray());
+    }
+
+    // Get rentals for a customer
+    @GetMapping("/customer/{customerId}/rentals")
+    public List<RentalRecord> getRentalsForCustomer(@PathVariable int customerId) {
+        return RentalRecordView.of(rentalRecords, rows()
+                .filter(row -> rentalRecords.customerId(row) == customerId)
+                .toArray());
+    }
+
+    // Rentals per model of the cars in this fleet
+    @GetMapping("/popular/counts")
+    public Map<String, Long> getRentalCountsByModel() {
+        return rows()
+                .mapToObj(row -> getCarById(rentalRecords.carId(row)))
+                .filter(Objects::nonNull)
+                .collect(Collectors.groupingBy(Car::getModel, Collectors.counting()));
+    }
+
+    // Most popular model
+    @GetMapping("/popular")
+    public String getMostPopularModel() {
+        return getRentalCountsByModel()
+                .entrySet().stream()
+                .max(Map.Entry.comparingByValue())
+                .map(Map.Entry::getKey)
+                .orElse(null);
+    }
+
+    // Total fees
+    @GetMapping("/fees")
+    public double getTotalRentalFees() {
+        return RentalFees.toDollars(rows()
+                .mapToLong(rentalRecords::rentalFeeCents)
+                .sum());
+    }
+
+    // Available by model & year
+    @GetMapping("/available/{model}/{year}")
+    public List<Car> getAvailableByModelYear(@PathVariable String model, @PathVariable int year) {
+        return cars.stream()
+                .filter(car -> car.isAvailable() &&
+                        car.getModel().equalsIgnoreCase(model) &&
+                        car.getYear() == year)
+                .collect(Collectors.toList());
+    }
+
+    // Duration by car
+    @GetMapping("/{carId}/duration")
+    public long getRentalDurationForCar(@PathVariable int carId) {
+        if (rentalDaysByCar == null) {
+            return rows()
+                    .filter(row -> rentalRecords.carId(row) == carId && rentalRecords.endDay(row) != RentalLedger.OPEN)
+                    .mapToLong(row -> rentalRecords.endDay(row) - rentalRecords.startDay(row))
+                    .sum();
+        }
+        AtomicLong days = rentalDaysByCar.get(carId);
+        return days == null ? 0 : days.get();
+    }
+
+    // Fees by customer
+    @GetMapping("/customer/{customerId}/fees")
+    public double getTotalFeesForCustomer(@PathVariable int customerId) {
+        return RentalFees.toDollars(rows()
+                .filter(row -> rentalRecords.customerId(row) == customerId)
+                .mapToLong(rentalRecords::rentalFeeCents)
+                .sum());
+    }
+
+    // Rental by ID
+    @GetMapping("/rental/{rentalId}")
+    public RentalRecord getRentalById(@PathVariable int rentalId) {
+        return rows()
+                .filter(row -> rentalRecords.rentalId(row) == rentalId)
+                .mapToObj(rentalRecords::toRecord)
+                .findFirst()
+                .orElse(null);
+    }
+
+    @GetMapping("/rental/{rentalId}/open")
+    @Override
+    public boolean isRentalOpen(@PathVariable int rentalId) {
+        return rentalRecords.findOpen(rentalId) >= 0;
+    }
+
+    // Rentals out on any day between from and to (inclusive); open rentals are still out
+    @GetMapping("/out")
+    public List<RentalRecord> getRentalsBetween(@RequestParam String from, @RequestParam String to) {
+        int fromDay = requestDay(from);
+        int toDay = requestDay(to);
+        checkQueryRange(fromDay, toDay);
+        if (rentalPeriods == null) {
+            return RentalRecordView.of(rentalRecords, rows()
+                    .filter(row -> rentalRecords.startDay(row) <= toDay && outAfter(row, fromDay))
+                    .toArray());
+        }
+        return RentalRecordView.of(rentalRecords, rentalPeriods.overlapping(fromDay, toDay));
+    }
+
+    @GetMapping("/fleet/size")
+    @Override
+    public int getFleetSize() {
+        return cars.size();
+    }
+
+    // Cars out and share of the current fleet for each day between from and to (inclusive)
+    @GetMapping("/utilization")
+    @Override
+    public List<DailyUtilization> getDailyUtilization(@RequestParam String from, @RequestParam String to) {
+        int fromDay = requestDay(from);
+        int toDay = requestDay(to);
+        checkQueryRange(fromDay, toDay);
+        int[] carsOut = rentalPeriods != null ? rentalPeriods.carsOutPerDay(fromDay, toDay) : scanCarsOutPerDay(fromDay, toDay);
+        int fleetSize = getFleetSize();
+        List<DailyUtilization> series = new ArrayList<>(carsOut.length);
+        for (int i = 0; i < carsOut.length; i++) {
+            double utilization = fleetSize == 0 ? 0.0 : (double) carsOut[i] / fleetSize;
+            series.add(new DailyUtilization(LocalDate.ofEpochDay(fromDay + i), carsOut[i], utilization));
+        }
+        return series;
+    }
+
+    // Ledger rows, read in place
+    private IntStream rows() {
+        return IntStream.range(0, rentalRecords.size());
+    }
+
+    // Same semantics as RentalIntervalIndex, for a controller without heap indexes: a rental is
+    // out until its end day, and at least on its start day
+    private boolean outAfter(int row, int fromDay) {
+        int endDay = rentalRecords.endDay(row);
+        return endDay == RentalLedger.OPEN || Math.max(endDay, rentalRecords.startDay(row) + 1) > fromDay;
+    }
+
+    private int[] scanCarsOutPerDay(int fromDay, int toDay) {
+        if (toDay < fromDay) return new int[0];
+        int[] carsOut = new int[toDay - fromDay + 1];
+        rows().forEach(row -> {
+            int startDay = rentalRecords.startDay(row);
+            if (startDay > toDay || !outAfter(row, fromDay)) return;
+            int endDay = rentalRecords.endDay(row);
+            int last = endDay == RentalLedger.OPEN ? toDay : Math.min(toDay, Math.max(endDay, startDay + 1) - 1);
+            for (int day = Math.max(startDay, fromDay); day <= last; day++) {
+                carsOut[day - fromDay]++;
+            }
+        });
+        return carsOut;
+    }
+
+    // A request date as an epoch day, 400 unless it is well-formed and inside the configured window
+    private int requestDay(String text) {
+        int day;
+        try {
+            day = IsoDates.parseEpochDay(text);
+        } catch (DateTimeParseException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid date: " + text);
+        }
+        if (day < earliestDay || day > latestDay) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Date outside "
+                    + LocalDate.ofEpochDay(earliestDay) + ".." + LocalDate.ofEpochDay(latestDay) + ": " + text);
+        }
+        return day;
+    }
+
+    private void checkQueryRange(int fromDay, int toDay) {
+        if (toDay - fromDay >= maxQueryDays) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Date range longer than " + maxQueryDays + " days");
+        }
+    }
+
+    // State changes shared by the endpoints and journal replay
+
+    private void applyAddCar(Car car) {
+        cars.add(car);
+        carsById.putIfAbsent(car.getId(), car);
+    }
+
+    // Refuses a rentalId that is still open: a second open row with it could never be returned
+    private boolean canRent(int rentalId, int carId) {
+        if (rentalRecords.findOpen(rentalId) >= 0) return false;
+        Car car = getCarById(carId);
+        return car != null && car.isAvailable();
+    }
+
+    private boolean applyRent(int rentalId, int carId, int customerId, int startDay) {
+        if (!canRent(rentalId, carId)) return false;
+        getCarById(carId).setAvailable(false);
+        int row = rentalRecords.append(rentalId, carId, customerId, startDay);
+        if (rentalPeriods != null) rentalPeriods.open(row, startDay);
+        return true;
+    }
+
+    private boolean applyReturn(int rentalId, int returnDay) {
+        int row = rentalRecords.findOpen(rentalId);
+        if (row < 0) return false;
+        int startDay = rentalRecords.startDay(row);
+        rentalRecords.close(row, returnDay, RentalFees.toDollars(RentalFees.feeCents(startDay, returnDay)));
+        if (rentalPeriods != null) {
+            rentalPeriods.close(row, startDay, returnDay);
+            addRentalDays(rentalRecords.carId(row), returnDay - startDay);
+        }
+
+        Car car = getCarById(rentalRecords.carId(row));
+        if (car != null) car.setAvailable(true);
+        return true;
+    }
+
+    // Recovery: snapshot contents, then journal events, all before the controller serves requests
+
+    synchronized void restoreCar(Car car) {
+        applyAddCar(car);
+    }
+
+    synchronized void restoreRental(int rentalId, int carId, int customerId, int startDay, int endDay, double rentalFee) {
+        int row = rentalRecords.append(rentalId, carId, customerId, startDay);
+        if (endDay != RentalLedger.OPEN) rentalRecords.close(row, endDay, rentalFee);
+        if (rentalPeriods != null) indexRental(row);
+    }
+
+    private void indexRental(int row) {
+        int startDay = rentalRecords.startDay(row);
+        rentalPeriods.open(row, startDay);
+        int endDay = rentalRecords.endDay(row);
+        if (endDay != RentalLedger.OPEN) {
+            rentalPeriods.close(row, startDay, endDay);
+            addRentalDays(rentalRecords.carId(row), endDay - startDay);
+        }
+    }
+
+    private void addRentalDays(int carId, long days) {
+        rentalDaysByCar.computeIfAbsent(carId, id -> new AtomicLong()).addAndGet(days);
+    }
+
+    CarRentalJournal.Replay replay() {
+        return new CarRentalJournal.Replay() {
+            @Override
+            public void addCar(Car car) {
+                restoreCar(car);
+            }
+
+            @Override
+            public void rent(int rentalId, int carId, int customerId, int startDay) {
+                synchronized (CarRentalController.this) {
+                    applyRent(rentalId, carId, customerId, startDay);
+                }
+            }
+
+            @Override
+            public void returned(int rentalId, int endDay) {
+                synchronized (CarRentalController.this) {
+                    applyReturn(rentalId, endDay);
+                }
+            }
+        };
+    }
+
+    // Rolls the journal and copies what a snapshot needs while writes are held off
+    synchronized CarRentalSnapshots.Cut snapshotCut() {
+        long lsn = journal.roll();
+        int carCount = cars.size();
+        int[] ids = new int[carCount];
+        String[] models = new String[carCount];
+        int[] years = new int[carCount];
+        boolean[] available = new boolean[carCount];
+        for (int i = 0; i < carCount; i++) {
+            Car car = cars.get(i);
+            ids[i] = car.getId();
+            models[i] = car.getModel();
+            years[i] = car.getYear();
+            available[i] = car.isAvailable();
+        }
+        int rowCount = rentalRecords.size();
+        // From the ledger's open-rental index, so the lock is held for O(fleet), not O(ledger)
+        BitSet openRows = new BitSet(rowCount);
+        for (int row : rentalRecords.openRows()) {
+            openRows.set(row);
+        }
+        return new CarRentalSnapshots.Cut(lsn, ids, models, years, available, rentalRecords, rowCount, openRows);
+    }
+}
@@ -0,0 +1,34 @@
+package impdata.carrental;
+
+// Write-ahead log of the controller's state changes. Each append returns the event's log sequence
+// number (LSN); awaitDurable blocks until that event is on disk. Events are appended under the
+// controller's lock but awaited outside it, so concurrent writers share one fsync (group commit).
+public interface CarRentalJournal {
+
+    // Journaling switched off: nothing is written and nothing is awaited
+    CarRentalJournal NONE = new CarRentalJournal() {
+        @Override public long addCar(Car car) { return 0; }
+        @Override public long rent(int rentalId, int carId, int customerId, int startDay) { return 0; }
+        @Override public long returned(int rentalId, int endDay) { return 0; }
+        @Override public void awaitDurable(long lsn) { }
+        @Override public long roll() { return 0; }
+    };
+
+    long addCar(Car car);
+
+    long rent(int rentalId, int carId, int customerId, int startDay);
+
+    long returned(int rentalId, int endDay);
+
+    void awaitDurable(long lsn);
+
+    // Starts a new journal file and returns the LSN it begins at; every earlier event is durable
+    long roll();
+
+    // Receives events during replay
+    interface Replay {
+        void addCar(Car car);
+        void rent(int rentalId, int carId, int customerId, int startDay);
+        void returned(int rentalId, int endDay);
+    }
+}
@@ -0,0 +1,32 @@
+package impdata.carrental;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+
+@Configuration
+public class CarRentalLedgerConfig {
+
+    // cars.ledger.file=<path> keeps rentals in a memory-mapped file; unset keeps them on the heap
+    @Bean
+    public RentalLedger rentalLedger(@Value("${cars.ledger.file:}") String ledgerFile) {
+        if (ledgerFile.isBlank()) {
+            return new InMemoryRentalLedger();
+        }
+        return new MappedRentalLedger(Path.of(ledgerFile));
+    }
+
+    // cars.ledger.index defaults to on for the heap ledger and off for the mapped one
+    @Bean
+    public CarRentalOptions carRentalOptions(@Value("${cars.dates.earliest:2000-01-01}") String earliest,
+                                             @Value("${cars.dates.latest:2099-12-31}") String latest,
+                                             @Value("${cars.query.max-days:3660}") int maxQueryDays,
+                                             @Value("${cars.ledger.index:}") String heapIndexes,
+                                             @Value("${cars.ledger.file:}") String ledgerFile) {
+        boolean index = heapIndexes.isBlank() ? ledgerFile.isBlank() : Boolean.parseBoolean(heapIndexes);
+        return new CarRentalOptions(LocalDate.parse(earliest), LocalDate.parse(latest), maxQueryDays, index);
+    }
+}
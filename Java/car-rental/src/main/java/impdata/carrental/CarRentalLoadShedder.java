@@ -0,0 +1,81 @@
+package impdata.carrental;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Set;
+
+// Separate adaptive concurrency limits for writes (rent, return, add) and for analytics scans
+// (fleet, customer and per-car rental history, fees, popularity, date ranges), so a flood of
+// dashboard queries can't take the threads rent and return need. Requests are classified by the
+// handler's mapping pattern; point lookups (a car, a rental, available cars) are cheap and not
+// limited. Requests over a limit are rejected at once with 503 and a Retry-After hint instead of
+// queueing. Analytics also backs off while write latency stays above its baseline, since scans
+// mostly hurt writes by competing for CPU.
+@Component
+public class CarRentalLoadShedder implements HandlerInterceptor {
+
+    private static final Set<String> WRITES = Set.of("/cars/rent", "/cars/shard/rent", "/cars/return", "/cars/add");
+    private static final Set<String> ANALYTICS = Set.of(
+            "/cars/rentals", "/cars/{carId}/rentals", "/cars/{carId}/duration",
+            "/cars/customer/{customerId}/rentals", "/cars/customer/{customerId}/fees",
+            "/cars/popular", "/cars/popular/counts", "/cars/fees", "/cars/out", "/cars/utilization");
+
+    private final boolean enabled;
+    private final AdaptiveConcurrencyLimit writes;
+    private final AdaptiveConcurrencyLimit analytics;
+    private final CarRentalMetrics metrics;
+    private final ThreadLocal<long[]> startNanos = ThreadLocal.withInitial(() -> new long[1]);
+
+    public CarRentalLoadShedder(CarRentalMetrics metrics,
+                                @Value("${cars.limits.enabled:true}") boolean enabled,
+                                @Value("${cars.limits.write.initial:64}") int writeInitial,
+                                @Value("${cars.limits.write.max:256}") int writeMax,
+                                @Value("${cars.limits.analytics.initial:8}") int analyticsInitial,
+                                @Value("${cars.limits.analytics.max:32}") int analyticsMax) {
+        this.metrics = metrics;
+        this.enabled = enabled;
+        this.writes = new AdaptiveConcurrencyLimit(writeInitial, 4, writeMax);
+        this.analytics = new AdaptiveConcurrencyLimit(analyticsInitial, 1, analyticsMax);
+        metrics.gauge("cars.limit", "Concurrency limit for write requests", writes, AdaptiveConcurrencyLimit::getLimit, "class", "write");
+        metrics.gauge("cars.limit", "Concurrency limit for analytics requests", analytics, AdaptiveConcurrencyLimit::getLimit, "class", "analytics");
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!enabled) return true;
+        AdaptiveConcurrencyLimit limit = limitFor(request);
+        if (limit == null) return true;
+        if (!limit.tryAcquire()) {
+            metrics.shed(limit == writes);
+            response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            response.setHeader("Retry-After", Long.toString(limit.retryAfterSeconds()));
+            return false;
+        }
+        startNanos.get()[0] = System.nanoTime();
+        return true;
+    }
+
+    // Only called when preHandle let the request through
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (!enabled) return;
+        AdaptiveConcurrencyLimit limit = limitFor(request);
+        if (limit == null) return;
+        limit.release(System.nanoTime() - startNanos.get()[0]);
+        if (limit == writes && writes.isCongested()) analytics.backOff();
+    }
+
+    // Null for requests no limit applies to
+    private AdaptiveConcurrencyLimit limitFor(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (pattern == null) return null;
+        if (WRITES.contains(pattern.toString())) return writes;
+        if (ANALYTICS.contains(pattern.toString())) return analytics;
+        return null;
+    }
+}
@@ -0,0 +1,96 @@
+package impdata.carrental;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ToDoubleFunction;
+
+// Meters for the /cars endpoints: one latency timer per endpoint (count, total, p50/p99/p999 from
+// an HdrHistogram-backed sliding window), fleet and ledger size gauges, rent/return conflicts and
+// requests shed by the concurrency limits.
+// Meters are created once and cached, so recording on the request path does not allocate.
+@Component
+public class CarRentalMetrics {
+
+    static final String REQUESTS = "cars.requests";
+    static final String CONFLICTS = "cars.conflicts";
+    static final String SHED = "cars.shed";
+
+    private static final double[] PERCENTILES = { 0.5, 0.99, 0.999 };
+
+    private final MeterRegistry registry;
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+    private final Counter rentConflicts;
+    private final Counter returnConflicts;
+    private final Counter shedWrites;
+    private final Counter shedAnalytics;
+
+    public CarRentalMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.rentConflicts = Counter.builder(CONFLICTS)
+                .description("Rent requests for a missing or already rented car")
+                .tag("operation", "rent")
+                .register(registry);
+        this.returnConflicts = Counter.builder(CONFLICTS)
+                .description("Return requests without an open rental")
+                .tag("operation", "return")
+                .register(registry);
+        this.shedWrites = Counter.builder(SHED)
+                .description("Requests rejected by the concurrency limit")
+                .tag("class", "write")
+                .register(registry);
+        this.shedAnalytics = Counter.builder(SHED)
+                .description("Requests rejected by the concurrency limit")
+                .tag("class", "analytics")
+                .register(registry);
+    }
+
+    // Timer for an endpoint (the request mapping pattern, e.g. /cars/popular)
+    public Timer timer(String endpoint) {
+        Timer timer = timers.get(endpoint);
+        if (timer == null) {
+            timer = timers.computeIfAbsent(endpoint, this::newTimer);
+        }
+        return timer;
+    }
+
+    public <T> void gauge(String name, String description, T state, ToDoubleFunction<T> value) {
+        Gauge.builder(name, state, value)
+                .description(description)
+                .register(registry);
+    }
+
+    public <T> void gauge(String name, String description, T state, ToDoubleFunction<T> value, String... tags) {
+        Gauge.builder(name, state, value)
+                .description(description)
+                .tags(tags)
+                .register(registry);
+    }
+
+    public void shed(boolean write) {
+        (write ? shedWrites : shedAnalytics).increment();
+    }
+
+    public void rentConflict() {
+        rentConflicts.increment();
+    }
+
+    public void returnConflict() {
+        returnConflicts.increment();
+    }
+
+    private Timer newTimer(String endpoint) {
+        return Timer.builder(REQUESTS)
+                .description("Latency of /cars endpoints")
+                .tag("endpoint", endpoint)
+                .publishPercentiles(PERCENTILES)
+                .distributionStatisticExpiry(Duration.ofMinutes(1))
+                .register(registry);
+    }
+}
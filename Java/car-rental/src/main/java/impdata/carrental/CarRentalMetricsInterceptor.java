@@ -0,0 +1,37 @@
+package impdata.carrental;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.concurrent.TimeUnit;
+
+// Times every /cars request into CarRentalMetrics, tagged with its mapping pattern. The start time
+// lives in a per-thread slot rather than a request attribute, so no Long is boxed per request.
+@Component
+public class CarRentalMetricsInterceptor implements HandlerInterceptor {
+
+    private final CarRentalMetrics metrics;
+    private final ThreadLocal<long[]> startNanos = ThreadLocal.withInitial(() -> new long[1]);
+
+    public CarRentalMetricsInterceptor(CarRentalMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        startNanos.get()[0] = System.nanoTime();
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        long elapsed = System.nanoTime() - startNanos.get()[0];
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (pattern != null) {
+            metrics.timer(pattern.toString()).record(elapsed, TimeUnit.NANOSECONDS);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package impdata.carrental;
+
+import java.time.LocalDate;
+
+// Request limits and in-heap indexes of a CarRentalController.
+//
+// Rent and return dates outside [earliestDate, latestDate] are rejected with 400, as are /out and
+// /utilization ranges longer than maxQueryDays, so a client can't make the interval index or a
+// utilization series cover millions of days.
+//
+// heapIndexes keeps the rental interval index and per-car rental days on the heap: about 8 bytes
+// per rental, rebuilt by reading every ledger row at startup. That suits the heap ledger. With the
+// mapped ledger it would undo what the file is for (heap independent of ledger size, no reload on
+// restart), so there it defaults to off and /out, /utilization and /duration scan the file instead.
+public record CarRentalOptions(LocalDate earliestDate, LocalDate latestDate, int maxQueryDays, boolean heapIndexes) {
+
+    public static final CarRentalOptions DEFAULTS =
+            new CarRentalOptions(LocalDate.of(2000, 1, 1), LocalDate.of(2099, 12, 31), 3660, true);
+
+    public int earliestDay() { return (int) earliestDate.toEpochDay(); }
+
+    public int latestDay() { return (int) latestDate.toEpochDay(); }
+}
@@ -0,0 +1,84 @@
+package impdata.carrental;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Restart path for a journaled controller: load the newest snapshot, replay the journal events
+// after it, then open a fresh journal file. Snapshots are taken periodically so the tail to replay
+// stays short; journal files a snapshot covers are deleted once it is on disk.
+public class CarRentalPersistence implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(CarRentalPersistence.class);
+
+    private final CarRentalController controller;
+    private final FileCarRentalJournal journal;
+    private final Path directory;
+    private ScheduledExecutorService scheduler;
+
+    public CarRentalPersistence(CarRentalController controller, FileCarRentalJournal journal) {
+        this.controller = controller;
+        this.journal = journal;
+        this.directory = journal.getDirectory();
+    }
+
+    // Returns the LSN the journal continues from
+    public long recover() {
+        try {
+            long started = System.nanoTime();
+            long snapshotLsn = CarRentalSnapshots.load(directory, controller);
+            long loaded = System.nanoTime();
+            long nextLsn = FileCarRentalJournal.replay(directory, snapshotLsn, controller.replay());
+            journal.start(nextLsn);
+            log.info("Recovered from {}: snapshot at LSN {} in {} ms, {} journal events in {} ms",
+                    directory, snapshotLsn, TimeUnit.NANOSECONDS.toMillis(loaded - started),
+                    nextLsn - snapshotLsn, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - loaded));
+            return nextLsn;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot recover car rental state from " + directory, e);
+        }
+    }
+
+    // Only the cut holds off writers: it copies the fleet and the open rentals (O(cars), not
+    // O(rentals)) and rolls the journal, which waits for one fsync. The file itself is written
+    // while requests continue.
+    public synchronized Path snapshot() {
+        try {
+            CarRentalSnapshots.Cut cut = controller.snapshotCut();
+            Path snapshot = CarRentalSnapshots.write(directory, cut);
+            journal.deleteBefore(cut.lsn());
+            return snapshot;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write snapshot to " + directory, e);
+        }
+    }
+
+    public void scheduleSnapshots(Duration interval) {
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "car-rental-snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long millis = interval.toMillis();
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                snapshot();
+            } catch (RuntimeException e) {
+                log.warn("Snapshot failed; the journal keeps growing until the next one succeeds", e);
+            }
+        }, millis, millis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void close() {
+        if (scheduler != null) scheduler.shutdown();
+    }
+}
@@ -0,0 +1,42 @@
+package impdata.carrental;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@Configuration
+public class CarRentalPersistenceConfig {
+
+    // cars.journal.dir=<dir> journals every add/rent/return and snapshots the state there;
+    // unset keeps the controller purely in memory
+    @Bean
+    public CarRentalJournal carRentalJournal(@Value("${cars.journal.dir:}") String journalDir,
+                                             @Value("${cars.journal.sync:true}") boolean syncCommit,
+                                             @Value("${cars.journal.flush-interval-ms:5}") long flushIntervalMillis,
+                                             @Value("${cars.ledger.file:}") String ledgerFile) {
+        if (journalDir.isBlank()) {
+            return CarRentalJournal.NONE;
+        }
+        if (!ledgerFile.isBlank()) {
+            // The mapped ledger is already durable; replaying rentals into it would duplicate them
+            throw new IllegalStateException("cars.journal.dir cannot be combined with cars.ledger.file");
+        }
+        return new FileCarRentalJournal(Path.of(journalDir), syncCommit, flushIntervalMillis);
+    }
+
+    // Runs before the web server starts accepting requests. The same test as carRentalJournal, so
+    // a blank cars.journal.dir means neither a file journal nor this bean.
+    @Bean
+    @ConditionalOnExpression("!'${cars.journal.dir:}'.isBlank()")
+    public CarRentalPersistence carRentalPersistence(CarRentalController controller, CarRentalJournal journal,
+                                                     @Value("${cars.snapshot.interval:PT5M}") Duration snapshotInterval) {
+        CarRentalPersistence persistence = new CarRentalPersistence(controller, (FileCarRentalJournal) journal);
+        persistence.recover();
+        persistence.scheduleSnapshots(snapshotInterval);
+        return persistence;
+    }
+}
@@ -0,0 +1,11 @@
+package impdata.carrental;
+
+import java.util.List;
+
+public interface CarRentalService {
+    Car addCar(Car car);
+    Car getCarById(int id);
+    List<Car> getAvailableCars();
+    void rentCar(int rentalId, int carId, int customerId, String startDate);
+    void returnCar(int rentalId, String endDate);
+}
@@ -0,0 +1,60 @@
+package impdata.carrental;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+@Service
+public class CarRentalServiceImpl implements CarRentalService {
+
+    @Autowired
+    private CarRepository carRepository;
+
+    @Autowired
+    private RentalRecordRepository rentalRepository;
+
+    @Override
+    public Car addCar(Car car) {
+        return carRepository.save(car);
+    }
+
+    @Override
+    public Car getCarById(int id) {
+        return carRepository.findById(id).orElse(null);
+    }
+
+    @Override
+    public List<Car> getAvailableCars() {
+        return carRepository.findByAvailableTrue();
+    }
+
+    @Override
+    public void rentCar(int rentalId, int carId, int customerId, String startDate) {
+        Car car = getCarById(carId);
+        if (car != null && car.isAvailable()) {
+            car.setAvailable(false);
+            carRepository.save(car);
+            rentalRepository.save(new RentalRecord(rentalId, carId, customerId, LocalDate.parse(startDate), null, 0.0));
+        }
+    }
+
+    @Override
+    public void returnCar(int rentalId, String endDate) {
+        RentalRecord record = rentalRepository.findById(rentalId).orElse(null);
+        if (record != null && record.getEndDate() == null) {
+            LocalDate returnDate = LocalDate.parse(endDate);
+            record.setEndDate(returnDate);
+            long days = ChronoUnit.DAYS.between(record.getStartDate(), returnDate);
+            record.setRentalFee(days * 50); // Assume $50 per day
+            rentalRepository.save(record);
+
+            Car car = getCarById(record.getCarId());
+            if (car != null) {
+                car.setAvailable(true);
+                carRepository.save(car);
+            }
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package impdata.carrental;
+
+import java.util.List;
+import java.util.Map;
+
+// The /cars operations a shard serves for the cars it owns and their rentals. CarRentalController
+// is an in-process shard; HttpCarRentalShard reaches one in another process.
+public interface CarRentalShard {
+
+    boolean addCar(Car car);
+
+    Car getCarById(int id);
+
+    List<Car> getAvailableCars();
+
+    List<Car> getAvailableByModelYear(String model, int year);
+
+    // Rents unless the car is unknown or already out, or the rental id is still open; false if
+    // refused. A router needs the answer to know which shard a rental lives on.
+    boolean tryRent(int rentalId, int carId, int customerId, String startDate);
+
+    void returnCar(int rentalId, String endDate);
+
+    RentalRecord getRentalById(int rentalId);
+
+    // Whether a rental with this id is out and not yet returned
+    boolean isRentalOpen(int rentalId);
+
+    List<RentalRecord> getAllRentalRecords();
+
+    List<RentalRecord> getRentalsForCar(int carId);
+
+    long getRentalDurationForCar(int carId);
+
+    List<RentalRecord> getRentalsForCustomer(int customerId);
+
+    List<RentalRecord> getRentalsBetween(String from, String to);
+
+    List<DailyUtilization> getDailyUtilization(String from, String to);
+
+    // Cars in the fleet: what a router weighs each shard's cars out by when merging utilization
+    int getFleetSize();
+
+    double getTotalFeesForCustomer(int customerId);
+
+    double getTotalRentalFees();
+
+    // Rentals per model: the partial aggregate behind /popular
+    Map<String, Long> getRentalCountsByModel();
+}
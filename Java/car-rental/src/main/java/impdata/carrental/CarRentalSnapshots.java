@@ -0,0 +1,129 @@
+package impdata.carrental;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+// Compact binary snapshots snapshot-<lsn>.bin of the fleet and the rental ledger: the state after
+// every journal event below lsn. Written to a temp file, synced, then renamed into place, so a
+// crash mid-snapshot leaves the previous one intact.
+public final class CarRentalSnapshots {
+
+    private static final int MAGIC = 0x534E4150; // "SNAP"
+    private static final int VERSION = 1;
+    private static final String PREFIX = "snapshot-";
+    private static final String SUFFIX = ".bin";
+
+    private CarRentalSnapshots() {}
+
+    // A consistent cut taken under the controller's lock. Car fields are copied; ledger rows below
+    // rowCount are read later without the lock, which is safe because a closed row never changes
+    // and rows that were still open at the cut (openRows) are written as open.
+    public record Cut(long lsn, int[] ids, String[] models, int[] years, boolean[] available,
+                      RentalLedger ledger, int rowCount, BitSet openRows) {}
+
+    public static Path write(Path directory, Cut cut) throws IOException {
+        Files.createDirectories(directory);
+        Path target = directory.resolve(PREFIX + cut.lsn() + SUFFIX);
+        Path temp = directory.resolve(PREFIX + cut.lsn() + SUFFIX + ".tmp");
+        try (FileOutputStream file = new FileOutputStream(temp.toFile());
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file, 1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(cut.lsn());
+
+            out.writeInt(cut.ids().length);
+            for (int i = 0; i < cut.ids().length; i++) {
+                out.writeInt(cut.ids()[i]);
+                out.writeInt(cut.years()[i]);
+                out.writeBoolean(cut.available()[i]);
+                String model = cut.models()[i];
+                out.writeBoolean(model != null);
+                if (model != null) out.writeUTF(model);
+            }
+
+            RentalLedger ledger = cut.ledger();
+            out.writeInt(cut.rowCount());
+            for (int row = 0; row < cut.rowCount(); row++) {
+                boolean open = cut.openRows().get(row);
+                out.writeInt(ledger.rentalId(row));
+                out.writeInt(ledger.carId(row));
+                out.writeInt(ledger.customerId(row));
+                out.writeInt(ledger.startDay(row));
+                out.writeInt(open ? RentalLedger.OPEN : ledger.endDay(row));
+                out.writeDouble(open ? 0.0 : ledger.rentalFee(row));
+            }
+            out.flush();
+            file.getFD().sync();
+        }
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        deleteOlderThan(directory, cut.lsn());
+        return target;
+    }
+
+    // Loads the newest snapshot into the controller and returns its LSN, or 0 if there is none
+    public static long load(Path directory, CarRentalController controller) throws IOException {
+        Optional<Path> newest = newest(directory);
+        if (newest.isEmpty()) return 0;
+        Path file = newest.get();
+        try (InputStream in = Files.newInputStream(file);
+             DataInputStream data = new DataInputStream(new BufferedInputStream(in, 1 << 16))) {
+            if (data.readInt() != MAGIC || data.readInt() != VERSION) {
+                throw new IllegalStateException("Not a car rental snapshot: " + file);
+            }
+            long lsn = data.readLong();
+
+            int carCount = data.readInt();
+            for (int i = 0; i < carCount; i++) {
+                int id = data.readInt();
+                int year = data.readInt();
+                boolean available = data.readBoolean();
+                String model = data.readBoolean() ? data.readUTF() : null;
+                controller.restoreCar(new Car(id, model, year, available));
+            }
+
+            int rowCount = data.readInt();
+            for (int i = 0; i < rowCount; i++) {
+                controller.restoreRental(data.readInt(), data.readInt(), data.readInt(), data.readInt(),
+                        data.readInt(), data.readDouble());
+            }
+            return lsn;
+        }
+    }
+
+    private static Optional<Path> newest(Path directory) throws IOException {
+        return snapshots(directory).stream().max(Comparator.comparingLong(CarRentalSnapshots::lsn));
+    }
+
+    private static void deleteOlderThan(Path directory, long lsn) throws IOException {
+        for (Path snapshot : snapshots(directory)) {
+            if (lsn(snapshot) < lsn) Files.deleteIfExists(snapshot);
+        }
+    }
+
+    private static List<Path> snapshots(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) return List.of();
+        try (Stream<Path> listing = Files.list(directory)) {
+            return listing
+                    .filter(p -> p.getFileName().toString().startsWith(PREFIX) && p.getFileName().toString().endsWith(SUFFIX))
+                    .toList();
+        }
+    }
+
+    private static long lsn(Path snapshot) {
+        String name = snapshot.getFileName().toString();
+        return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+    }
+}
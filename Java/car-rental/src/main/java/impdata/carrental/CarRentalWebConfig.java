@@ -0,0 +1,24 @@
+package impdata.carrental;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class CarRentalWebConfig implements WebMvcConfigurer {
+
+    private final CarRentalMetricsInterceptor metricsInterceptor;
+    private final CarRentalLoadShedder loadShedder;
+
+    public CarRentalWebConfig(CarRentalMetricsInterceptor metricsInterceptor, CarRentalLoadShedder loadShedder) {
+        this.metricsInterceptor = metricsInterceptor;
+        this.loadShedder = loadShedder;
+    }
+
+    // Metrics first, so shed requests are still counted and timed
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(metricsInterceptor).addPathPatterns("/cars/**");
+        registry.addInterceptor(loadShedder).addPathPatterns("/cars/**");
+    }
+}
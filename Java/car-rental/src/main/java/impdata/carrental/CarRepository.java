@@ -0,0 +1,11 @@
+package impdata.carrental;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import java.util.List;
+
+// JpaSpecificationExecutor<T>	— (separate interface)
+// JpaRepository extends PagingAndSortingRepository extends CrudRepository extends Repository
+
+public interface CarRepository extends JpaRepository<Car, Integer> {
+    List<Car> findByAvailableTrue();
+}
@@ -0,0 +1,53 @@
+package impdata.carrental;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+// Maps int keys to nodes by consistent hashing. Each node is placed at virtualNodes points on a
+// 64-bit ring, derived from its name so placement doesn't depend on list order; a key belongs to
+// the first point at or after its hash. Adding or removing a node moves only about 1/n of the keys.
+public class ConsistentHashRing<T> {
+
+    private final long[] points;
+    private final Object[] owners;
+
+    public ConsistentHashRing(List<T> nodes, Function<T, String> name, int virtualNodes) {
+        if (nodes.isEmpty()) throw new IllegalArgumentException("No nodes");
+        int count = nodes.size() * virtualNodes;
+        long[] hashes = new long[count];
+        int[] nodeIndexes = new int[count];
+        Long[] order = new Long[count];
+        for (int n = 0, p = 0; n < nodes.size(); n++) {
+            long seed = (long) name.apply(nodes.get(n)).hashCode() << 32;
+            for (int v = 0; v < virtualNodes; v++, p++) {
+                hashes[p] = mix(seed | v);
+                nodeIndexes[p] = n;
+                order[p] = (long) p;
+            }
+        }
+        Arrays.sort(order, (a, b) -> Long.compare(hashes[a.intValue()], hashes[b.intValue()]));
+        points = new long[count];
+        owners = new Object[count];
+        for (int i = 0; i < count; i++) {
+            int p = order[i].intValue();
+            points[i] = hashes[p];
+            owners[i] = nodes.get(nodeIndexes[p]);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public T nodeFor(int key) {
+        int at = Arrays.binarySearch(points, mix(key));
+        if (at < 0) at = -at - 1;
+        if (at == points.length) at = 0;
+        return (T) owners[at];
+    }
+
+    // SplitMix64 finalizer: spreads sequential ids over the whole ring
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,6 @@
+package impdata.carrental;
+
+import java.time.LocalDate;
+
+// One day of GET /cars/utilization: cars out that day and their share of the current fleet
+public record DailyUtilization(LocalDate date, int carsOut, double utilization) {}
@@ -0,0 +1,395 @@
+package impdata.carrental;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+// Append-only journal files journal-<startLsn>.log in one directory. A file is a 16-byte header
+// (magic "JRNL", version, first LSN) followed by frames [length][crc32c][type + fields].
+//
+// Appends only encode into an in-memory buffer. A single flusher thread swaps that buffer out,
+// writes it and forces the file, then wakes every writer whose event made it into the batch: one
+// fsync covers all requests that arrived while the previous one was running (group commit).
+// With syncCommit off nothing waits, and the last flushInterval of events can be lost on a crash.
+//
+// A failed write or fsync is final: the flusher logs it and stops, and every later append throws,
+// so writes fail loudly instead of piling up in memory where nothing will ever flush them.
+public class FileCarRentalJournal implements CarRentalJournal, Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(FileCarRentalJournal.class);
+
+    private static final int MAGIC = 0x4A524E4C; // "JRNL"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 16;
+    private static final int FRAME_HEADER_BYTES = 8;
+    private static final int MAX_FRAME_BYTES = 1 << 16;
+
+    private static final byte ADD_CAR = 1;
+    private static final byte RENT = 2;
+    private static final byte RETURN = 3;
+
+    private static final String PREFIX = "journal-";
+    private static final String SUFFIX = ".log";
+
+    private final Path directory;
+    private final boolean syncCommit;
+    private final long flushIntervalMillis;
+    private final CRC32C crc = new CRC32C();
+    private final Thread flusher;
+
+    // Guards the file channel: held while a batch is written and forced, and while rolling
+    private final Object io = new Object();
+    private FileChannel channel;
+    private ByteBuffer writing = ByteBuffer.allocate(1 << 20);
+
+    // Guarded by this
+    private ByteBuffer pending = ByteBuffer.allocate(1 << 20);
+    private long nextLsn;
+    private long durableLsn;
+    private boolean started;
+    private boolean flushRequested;
+    private boolean closed;
+    private IOException failure;
+
+    public FileCarRentalJournal(Path directory, boolean syncCommit, long flushIntervalMillis) {
+        this.directory = directory;
+        this.syncCommit = syncCommit;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.flusher = new Thread(this::flushLoop, "car-rental-journal");
+        flusher.setDaemon(true);
+    }
+
+    public Path getDirectory() { return directory; }
+
+    // Opens a new journal file at nextLsn, as returned by replay(), and starts accepting events
+    public void start(long nextLsn) {
+        synchronized (io) {
+            try {
+                Files.createDirectories(directory);
+                channel = create(nextLsn);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot open journal in " + directory, e);
+            }
+        }
+        synchronized (this) {
+            this.nextLsn = nextLsn;
+            this.durableLsn = nextLsn;
+            this.started = true;
+        }
+        flusher.start();
+    }
+
+    @Override
+    public synchronized long addCar(Car car) {
+        byte[] model = car.getModel() == null ? null : car.getModel().getBytes(StandardCharsets.UTF_8);
+        int modelBytes = model == null ? 0 : model.length;
+        // Stored with a short length; the controller already rejects anything over Car.MAX_MODEL_BYTES
+        if (modelBytes > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("Model name too long for the journal: " + modelBytes + " bytes");
+        }
+        ByteBuffer frame = beginFrame(1 + 4 + 4 + 1 + 2 + modelBytes);
+        frame.put(ADD_CAR).putInt(car.getId()).putInt(car.getYear()).put((byte) (car.isAvailable() ? 1 : 0));
+        if (model == null) {
+            frame.putShort((short) -1);
+        } else {
+            frame.putShort((short) model.length).put(model);
+        }
+        return endFrame();
+    }
+
+    @Override
+    public synchronized long rent(int rentalId, int carId, int customerId, int startDay) {
+        beginFrame(1 + 16).put(RENT).putInt(rentalId).putInt(carId).putInt(customerId).putInt(startDay);
+        return endFrame();
+    }
+
+    @Override
+    public synchronized long returned(int rentalId, int endDay) {
+        beginFrame(1 + 8).put(RETURN).putInt(rentalId).putInt(endDay);
+        return endFrame();
+    }
+
+    @Override
+    public void awaitDurable(long lsn) {
+        if (!syncCommit) return;
+        synchronized (this) {
+            if (durableLsn > lsn) return;
+            flushRequested = true;
+            notifyAll();
+            boolean interrupted = false;
+            while (durableLsn <= lsn && failure == null && !closed) {
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) Thread.currentThread().interrupt();
+            if (durableLsn <= lsn) {
+                throw new UncheckedIOException("Journal write failed", failure != null ? failure : new IOException("Journal closed"));
+            }
+        }
+    }
+
+    @Override
+    public long roll() {
+        synchronized (io) {
+            try {
+                flush();
+                long start;
+                synchronized (this) {
+                    start = nextLsn;
+                }
+                channel.close();
+                channel = create(start);
+                return start;
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot roll journal in " + directory, e);
+            }
+        }
+    }
+
+    // Deletes journal files that only hold events below lsn (already covered by a snapshot)
+    public void deleteBefore(long lsn) throws IOException {
+        List<Path> files = files(directory);
+        for (int i = 0; i + 1 < files.size() && startLsn(files.get(i + 1)) <= lsn; i++) {
+            Files.deleteIfExists(files.get(i));
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            if (closed) return;
+            closed = true;
+            notifyAll();
+        }
+        try {
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (io) {
+            if (channel == null) return;
+            flush();
+            channel.close();
+        }
+    }
+
+    // Replays every event at or after fromLsn, oldest file first, and returns the LSN that follows
+    // the last complete event. A torn frame at the end of the newest file (a crash mid-write) is cut off.
+    public static long replay(Path directory, long fromLsn, Replay replay) throws IOException {
+        List<Path> files = files(directory);
+        long lsn = fromLsn;
+        for (int i = 0; i < files.size(); i++) {
+            Path file = files.get(i);
+            long start = startLsn(file);
+            long fileLsn = start;
+            long validBytes = HEADER_BYTES;
+            boolean torn = false;
+            try (InputStream in = Files.newInputStream(file);
+                 DataInputStream data = new DataInputStream(new BufferedInputStream(in, 1 << 16))) {
+                if (data.readInt() != MAGIC || data.readInt() != VERSION || data.readLong() != start) {
+                    throw new IllegalStateException("Not a journal file: " + file);
+                }
+                CRC32C crc = new CRC32C();
+                byte[] payload = new byte[MAX_FRAME_BYTES];
+                while (true) {
+                    int length;
+                    try {
+                        length = data.readInt();
+                    } catch (EOFException e) {
+                        break;
+                    }
+                    try {
+                        int checksum = data.readInt();
+                        if (length <= 0 || length > MAX_FRAME_BYTES) {
+                            torn = true;
+                            break;
+                        }
+                        data.readFully(payload, 0, length);
+                        crc.reset();
+                        crc.update(payload, 0, length);
+                        if ((int) crc.getValue() != checksum) {
+                            torn = true;
+                            break;
+                        }
+                    } catch (EOFException e) {
+                        torn = true;
+                        break;
+                    }
+                    if (fileLsn >= fromLsn) {
+                        dispatch(ByteBuffer.wrap(payload, 0, length), replay);
+                    }
+                    fileLsn++;
+                    validBytes += FRAME_HEADER_BYTES + length;
+                }
+            } catch (EOFException e) {
+                torn = true; // header itself incomplete
+                validBytes = 0;
+            }
+            if (torn) {
+                if (i != files.size() - 1) {
+                    throw new IllegalStateException("Corrupt journal file " + file + " at byte " + validBytes);
+                }
+                if (validBytes == 0) {
+                    Files.delete(file);
+                } else {
+                    try (FileChannel truncate = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                        truncate.truncate(validBytes);
+                    }
+                }
+            }
+            lsn = Math.max(lsn, fileLsn);
+        }
+        return lsn;
+    }
+
+    private static void dispatch(ByteBuffer event, Replay replay) {
+        switch (event.get()) {
+            case ADD_CAR -> {
+                int id = event.getInt();
+                int year = event.getInt();
+                boolean available = event.get() != 0;
+                short modelBytes = event.getShort();
+                String model = null;
+                if (modelBytes >= 0) {
+                    model = new String(event.array(), event.position(), modelBytes, StandardCharsets.UTF_8);
+                }
+                replay.addCar(new Car(id, model, year, available));
+            }
+            case RENT -> replay.rent(event.getInt(), event.getInt(), event.getInt(), event.getInt());
+            case RETURN -> replay.returned(event.getInt(), event.getInt());
+            default -> throw new IllegalStateException("Unknown journal event type");
+        }
+    }
+
+    // Reserves the frame header; endFrame fills it in once the payload is written. Frames replay
+    // would reject as torn are refused here, before anything is buffered.
+    private ByteBuffer beginFrame(int payloadBytes) {
+        if (closed || !started) throw new IllegalStateException("Journal not open");
+        if (failure != null) throw new UncheckedIOException("Journal write failed earlier; refusing further events", failure);
+        if (payloadBytes > MAX_FRAME_BYTES) {
+            throw new IllegalArgumentException("Journal frame too large: " + payloadBytes + " bytes");
+        }
+        if (pending.remaining() < FRAME_HEADER_BYTES + payloadBytes) {
+            int capacity = Math.max(pending.capacity() * 2, pending.position() + FRAME_HEADER_BYTES + payloadBytes);
+            ByteBuffer grown = ByteBuffer.allocate(capacity);
+            pending.flip();
+            grown.put(pending);
+            pending = grown;
+        }
+        pending.position(pending.position() + FRAME_HEADER_BYTES);
+        pending.mark();
+        return pending;
+    }
+
+    private long endFrame() {
+        int end = pending.position();
+        pending.reset();
+        int payloadStart = pending.position();
+        int length = end - payloadStart;
+        crc.reset();
+        crc.update(pending.array(), payloadStart, length);
+        pending.putInt(payloadStart - FRAME_HEADER_BYTES, length);
+        pending.putInt(payloadStart - FRAME_HEADER_BYTES + 4, (int) crc.getValue());
+        pending.position(end);
+        return nextLsn++;
+    }
+
+    private void flushLoop() {
+        while (true) {
+            synchronized (this) {
+                if (closed) return;
+                if (!flushRequested) {
+                    try {
+                        wait(flushIntervalMillis);
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+                flushRequested = false;
+            }
+            synchronized (io) {
+                try {
+                    flush();
+                } catch (IOException e) {
+                    log.error("Journal write to {} failed; refusing further events until restart", directory, e);
+                    synchronized (this) {
+                        failure = e;
+                        notifyAll();
+                    }
+                    return;
+                }
+            }
+        }
+    }
+
+    // Caller holds io. Swaps the pending buffer out, writes and forces it.
+    private void flush() throws IOException {
+        ByteBuffer batch;
+        long upTo;
+        synchronized (this) {
+            if (pending.position() == 0) return;
+            batch = pending;
+            pending = writing;
+            writing = batch;
+            upTo = nextLsn;
+        }
+        batch.flip();
+        while (batch.hasRemaining()) {
+            channel.write(batch);
+        }
+        channel.force(false);
+        batch.clear();
+        synchronized (this) {
+            durableLsn = upTo;
+            notifyAll();
+        }
+    }
+
+    private FileChannel create(long startLsn) throws IOException {
+        Path file = directory.resolve(PREFIX + startLsn + SUFFIX);
+        FileChannel created = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).putInt(MAGIC).putInt(VERSION).putLong(startLsn).flip();
+        while (header.hasRemaining()) {
+            created.write(header);
+        }
+        created.force(true);
+        return created;
+    }
+
+    private static List<Path> files(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) return new ArrayList<>();
+        try (Stream<Path> listing = Files.list(directory)) {
+            return listing
+                    .filter(p -> p.getFileName().toString().startsWith(PREFIX) && p.getFileName().toString().endsWith(SUFFIX))
+                    .sorted(Comparator.comparingLong(FileCarRentalJournal::startLsn))
+                    .toList();
+        }
+    }
+
+    private static long startLsn(Path file) {
+        String name = file.getFileName().toString();
+        return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+    }
+}
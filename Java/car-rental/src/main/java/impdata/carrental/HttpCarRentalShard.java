@@ -0,0 +1,212 @@
+package impdata.carrental;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.web.ErrorResponseException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+// A shard in another process, reached through its /cars endpoints. Every request carries a timeout,
+// answered as 504 when it runs out. A shard's 4xx and 503 (with its Retry-After) pass through to the
+// router's caller unchanged; anything else from the shard is an error of the router.
+public class HttpCarRentalShard implements CarRentalShard {
+
+    private static final TypeReference<List<Car>> CARS = new TypeReference<>() {};
+    private static final TypeReference<List<RentalRecord>> RENTALS = new TypeReference<>() {};
+    private static final TypeReference<Map<String, Long>> COUNTS = new TypeReference<>() {};
+    private static final TypeReference<List<DailyUtilization>> UTILIZATION = new TypeReference<>() {};
+
+    private final String baseUrl;
+    private final HttpClient client;
+    private final Duration requestTimeout;
+    private final ObjectMapper mapper;
+
+    public HttpCarRentalShard(String baseUrl, HttpClient client, Duration requestTimeout, ObjectMapper mapper) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.client = client;
+        this.requestTimeout = requestTimeout;
+        this.mapper = mapper;
+    }
+
+    public String getBaseUrl() { return baseUrl; }
+
+    @Override
+    public boolean addCar(Car car) {
+        try {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/cars/add"))
+                    .timeout(requestTimeout)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(mapper.writeValueAsBytes(car)))
+                    .build();
+            return readValue(send(request), Boolean.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public Car getCarById(int id) {
+        return read(get("/cars/" + id), Car.class);
+    }
+
+    @Override
+    public List<Car> getAvailableCars() {
+        return read(get("/cars/available"), CARS);
+    }
+
+    @Override
+    public List<Car> getAvailableByModelYear(String model, int year) {
+        return read(get("/cars/available/" + encode(model).replace("+", "%20") + "/" + year), CARS);
+    }
+
+    @Override
+    public boolean tryRent(int rentalId, int carId, int customerId, String startDate) {
+        return readValue(post("/cars/shard/rent?rentalId=" + rentalId + "&carId=" + carId + "&customerId=" + customerId
+                + "&startDate=" + encode(startDate)), Boolean.class);
+    }
+
+    @Override
+    public void returnCar(int rentalId, String endDate) {
+        post("/cars/return?rentalId=" + rentalId + "&endDate=" + encode(endDate));
+    }
+
+    @Override
+    public RentalRecord getRentalById(int rentalId) {
+        return read(get("/cars/rental/" + rentalId), RentalRecord.class);
+    }
+
+    @Override
+    public boolean isRentalOpen(int rentalId) {
+        return readValue(get("/cars/rental/" + rentalId + "/open"), Boolean.class);
+    }
+
+    @Override
+    public List<RentalRecord> getAllRentalRecords() {
+        return read(get("/cars/rentals"), RENTALS);
+    }
+
+    @Override
+    public List<RentalRecord> getRentalsForCar(int carId) {
+        return read(get("/cars/" + carId + "/rentals"), RENTALS);
+    }
+
+    @Override
+    public long getRentalDurationForCar(int carId) {
+        return readValue(get("/cars/" + carId + "/duration"), Long.class);
+    }
+
+    @Override
+    public List<RentalRecord> getRentalsForCustomer(int customerId) {
+        return read(get("/cars/customer/" + customerId + "/rentals"), RENTALS);
+    }
+
+    @Override
+    public List<RentalRecord> getRentalsBetween(String from, String to) {
+        return read(get("/cars/out?from=" + encode(from) + "&to=" + encode(to)), RENTALS);
+    }
+
+    @Override
+    public List<DailyUtilization> getDailyUtilization(String from, String to) {
+        return read(get("/cars/utilization?from=" + encode(from) + "&to=" + encode(to)), UTILIZATION);
+    }
+
+    @Override
+    public int getFleetSize() {
+        return readValue(get("/cars/fleet/size"), Integer.class);
+    }
+
+    @Override
+    public double getTotalFeesForCustomer(int customerId) {
+        return readValue(get("/cars/customer/" + customerId + "/fees"), Double.class);
+    }
+
+    @Override
+    public double getTotalRentalFees() {
+        return readValue(get("/cars/fees"), Double.class);
+    }
+
+    @Override
+    public Map<String, Long> getRentalCountsByModel() {
+        return read(get("/cars/popular/counts"), COUNTS);
+    }
+
+    private HttpResponse<byte[]> get(String path) {
+        return send(HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(requestTimeout).GET().build());
+    }
+
+    private HttpResponse<byte[]> post(String path) {
+        return send(HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(requestTimeout)
+                .POST(HttpRequest.BodyPublishers.noBody()).build());
+    }
+
+    private HttpResponse<byte[]> send(HttpRequest request) {
+        try {
+            HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            int status = response.statusCode();
+            if (status / 100 == 4 || status == HttpStatus.SERVICE_UNAVAILABLE.value()) {
+                ErrorResponseException passed = new ErrorResponseException(HttpStatusCode.valueOf(status));
+                response.headers().firstValue("Retry-After")
+                        .ifPresent(retryAfter -> passed.getHeaders().set("Retry-After", retryAfter));
+                throw passed;
+            }
+            if (status / 100 != 2) {
+                throw new IllegalStateException("Shard " + baseUrl + " answered " + status
+                        + " to " + request.method() + " " + request.uri().getPath());
+            }
+            return response;
+        } catch (HttpTimeoutException e) {
+            throw new ErrorResponseException(HttpStatus.GATEWAY_TIMEOUT, e);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Shard " + baseUrl + " unreachable", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted calling shard " + baseUrl, e);
+        }
+    }
+
+    // For results the shard always answers with a value (flags, counts, sums); an empty body is a
+    // broken shard, not null
+    private <T> T readValue(HttpResponse<byte[]> response, Class<T> type) {
+        T value = read(response, type);
+        if (value == null) {
+            throw new IllegalStateException("Shard " + baseUrl + " answered " + response.request().method() + " "
+                    + response.request().uri().getPath() + " without a value");
+        }
+        return value;
+    }
+
+    // An empty body is a null result (e.g. an unknown car id)
+    private <T> T read(HttpResponse<byte[]> response, Class<T> type) {
+        if (response.body().length == 0) return null;
+        try {
+            return mapper.readValue(response.body(), type);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Bad response from shard " + baseUrl, e);
+        }
+    }
+
+    private <T> T read(HttpResponse<byte[]> response, TypeReference<T> type) {
+        try {
+            return mapper.readValue(response.body(), type);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Bad response from shard " + baseUrl, e);
+        }
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,77 @@
+package impdata.carrental;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// The original ledger: one RentalRecord object per rental on the heap. Open rentals are indexed
+// by rentalId so returns (and journal replay) don't scan the whole list. Writers are serialized by
+// the controller; readers scan the records and look up open rentals while they are written.
+public class InMemoryRentalLedger implements RentalLedger {
+
+    private final List<RentalRecord> rentalRecords = new AppendOnlyList<>();
+    private final Map<Integer, Integer> openRows = new ConcurrentHashMap<>();
+
+    @Override
+    public int size() {
+        return rentalRecords.size();
+    }
+
+    @Override
+    public int append(int rentalId, int carId, int customerId, int startDay) {
+        if (openRows.containsKey(rentalId)) {
+            throw new IllegalStateException("Rental " + rentalId + " is already open");
+        }
+        rentalRecords.add(new RentalRecord(rentalId, carId, customerId, LocalDate.ofEpochDay(startDay), null, 0.0));
+        int row = rentalRecords.size() - 1;
+        openRows.put(rentalId, row);
+        return row;
+    }
+
+    @Override
+    public int findOpen(int rentalId) {
+        Integer row = openRows.get(rentalId);
+        return row == null ? -1 : row;
+    }
+
+    @Override
+    public int[] openRows() {
+        return openRows.values().stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    @Override
+    public void close(int row, int endDay, double rentalFee) {
+        RentalRecord record = rentalRecords.get(row);
+        record.setEndDate(LocalDate.ofEpochDay(endDay));
+        record.setRentalFee(rentalFee);
+        openRows.remove(record.getRentalId(), row);
+    }
+
+    @Override
+    public int rentalId(int row) { return rentalRecords.get(row).getRentalId(); }
+
+    @Override
+    public int carId(int row) { return rentalRecords.get(row).getCarId(); }
+
+    @Override
+    public int customerId(int row) { return rentalRecords.get(row).getCustomerId(); }
+
+    @Override
+    public int startDay(int row) { return (int) rentalRecords.get(row).getStartDate().toEpochDay(); }
+
+    @Override
+    public int endDay(int row) {
+        LocalDate endDate = rentalRecords.get(row).getEndDate();
+        return endDate == null ? OPEN : (int) endDate.toEpochDay();
+    }
+
+    @Override
+    public double rentalFee(int row) { return rentalRecords.get(row).getRentalFee(); }
+
+    // Records are already materialized; hand out the stored instance
+    @Override
+    public RentalRecord toRecord(int row) {
+        return rentalRecords.get(row);
+    }
+}
@@ -0,0 +1,74 @@
+package impdata.carrental;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+
+// yyyy-MM-dd straight to an epoch day, without the LocalDate and the DateTimeFormatter parse state
+// LocalDate.parse allocates. Only well-formed four-digit dates take the fast path; anything else
+// (signed years, malformed or impossible dates) goes through LocalDate.parse, so errors are the
+// same DateTimeParseException as before. Callers still check the day against their own window.
+public final class IsoDates {
+
+    // Days from 0000-01-01 to 1970-01-01
+    private static final int DAYS_0000_TO_1970 = 719_528;
+
+    private IsoDates() {}
+
+    public static int parseEpochDay(String text) {
+        if (text.length() != 10 || text.charAt(4) != '-' || text.charAt(7) != '-') {
+            return slowParse(text);
+        }
+        int year = digits(text, 0, 4);
+        int month = digits(text, 5, 2);
+        int day = digits(text, 8, 2);
+        if (year < 0 || month < 1 || month > 12 || day < 1 || day > lengthOfMonth(year, month)) {
+            return slowParse(text);
+        }
+        return epochDay(year, month, day);
+    }
+
+    // Same arithmetic as LocalDate.toEpochDay, for years 0..9999
+    static int epochDay(int year, int month, int day) {
+        int total = 365 * year + (year + 3) / 4 - (year + 99) / 100 + (year + 399) / 400;
+        total += (367 * month - 362) / 12;
+        total += day - 1;
+        if (month > 2) {
+            total--;
+            if (!isLeapYear(year)) total--;
+        }
+        return total - DAYS_0000_TO_1970;
+    }
+
+    // Dates whose epoch day doesn't fit an int (beyond about year 5,800,000) are rejected rather
+    // than wrapped into some other date
+    private static int slowParse(String text) {
+        long epochDay = LocalDate.parse(text).toEpochDay();
+        if (epochDay != (int) epochDay) {
+            throw new DateTimeParseException("Date outside the supported range: " + text, text, 0);
+        }
+        return (int) epochDay;
+    }
+
+    // Value of count decimal digits starting at from, or -1 if any of them isn't a digit
+    private static int digits(String text, int from, int count) {
+        int value = 0;
+        for (int i = from; i < from + count; i++) {
+            int digit = text.charAt(i) - '0';
+            if (digit < 0 || digit > 9) return -1;
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    private static int lengthOfMonth(int year, int month) {
+        return switch (month) {
+            case 2 -> isLeapYear(year) ? 29 : 28;
+            case 4, 6, 9, 11 -> 30;
+            default -> 31;
+        };
+    }
+
+    private static boolean isLeapYear(int year) {
+        return (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0);
+    }
+}
@@ -0,0 +1,189 @@
+package impdata.carrental;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+// Rental ledger in a memory-mapped file of fixed-width rows, so the heap holds only the mapping
+// segments and the open rentals (bounded by fleet size), whatever the number of records.
+// Rows survive restarts: reopening the file maps it again and rescans only for open rentals.
+//
+// File layout: 64-byte header (magic, version, row count), then 32-byte little-endian rows:
+//   rentalId int | carId int | customerId int | startDay int | endDay int | unused int | fee double
+//
+// Writes are synchronized; reads are not and see every row below size().
+public class MappedRentalLedger implements RentalLedger, Closeable {
+
+    private static final int MAGIC = 0x52454E54; // "RENT"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 64;
+    private static final int ROW_COUNT_OFFSET = 8;
+
+    private static final int ROW_BYTES = 32;
+    private static final int RENTAL_ID = 0;
+    private static final int CAR_ID = 4;
+    private static final int CUSTOMER_ID = 8;
+    private static final int START_DAY = 12;
+    private static final int END_DAY = 16;
+    private static final int FEE = 24;
+
+    // Rows per mapped segment (32 MB), keeping every mapping well under the 2 GB buffer limit
+    private static final int SEGMENT_SHIFT = 20;
+    private static final int SEGMENT_ROWS = 1 << SEGMENT_SHIFT;
+    private static final int SEGMENT_MASK = SEGMENT_ROWS - 1;
+    private static final long SEGMENT_BYTES = (long) SEGMENT_ROWS * ROW_BYTES;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer header;
+    private volatile MappedByteBuffer[] segments = new MappedByteBuffer[0];
+    private final Map<Integer, Integer> openRows = new HashMap<>();
+    private volatile int size;
+
+    public MappedRentalLedger(Path file) {
+        try {
+            channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            boolean created = channel.size() == 0;
+            header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES);
+            header.order(ByteOrder.LITTLE_ENDIAN);
+            if (created) {
+                header.putInt(0, MAGIC);
+                header.putInt(4, VERSION);
+                header.putInt(ROW_COUNT_OFFSET, 0);
+            } else if (header.getInt(0) != MAGIC || header.getInt(4) != VERSION) {
+                throw new IllegalStateException("Not a rental ledger file: " + file);
+            }
+            size = header.getInt(ROW_COUNT_OFFSET);
+            for (int row = 0; row < size; row++) {
+                if (endDay(row) == OPEN) openRows.putIfAbsent(rentalId(row), row);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open rental ledger " + file, e);
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public synchronized int append(int rentalId, int carId, int customerId, int startDay) {
+        if (openRows.containsKey(rentalId)) {
+            throw new IllegalStateException("Rental " + rentalId + " is already open");
+        }
+        int row = size;
+        MappedByteBuffer segment = segmentForWrite(row);
+        int offset = (row & SEGMENT_MASK) * ROW_BYTES;
+        segment.putInt(offset + RENTAL_ID, rentalId);
+        segment.putInt(offset + CAR_ID, carId);
+        segment.putInt(offset + CUSTOMER_ID, customerId);
+        segment.putInt(offset + START_DAY, startDay);
+        segment.putInt(offset + END_DAY, OPEN);
+        segment.putDouble(offset + FEE, 0.0);
+        // Publish the row only after its columns are written
+        header.putInt(ROW_COUNT_OFFSET, row + 1);
+        size = row + 1;
+        openRows.put(rentalId, row);
+        return row;
+    }
+
+    @Override
+    public synchronized int findOpen(int rentalId) {
+        Integer row = openRows.get(rentalId);
+        return row == null ? -1 : row;
+    }
+
+    @Override
+    public synchronized int[] openRows() {
+        return openRows.values().stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    @Override
+    public synchronized void close(int row, int endDay, double rentalFee) {
+        MappedByteBuffer segment = segment(row);
+        int offset = (row & SEGMENT_MASK) * ROW_BYTES;
+        segment.putDouble(offset + FEE, rentalFee);
+        segment.putInt(offset + END_DAY, endDay);
+        openRows.remove(segment.getInt(offset + RENTAL_ID), row);
+    }
+
+    @Override
+    public int rentalId(int row) { return readInt(row, RENTAL_ID); }
+
+    @Override
+    public int carId(int row) { return readInt(row, CAR_ID); }
+
+    @Override
+    public int customerId(int row) { return readInt(row, CUSTOMER_ID); }
+
+    @Override
+    public int startDay(int row) { return readInt(row, START_DAY); }
+
+    @Override
+    public int endDay(int row) { return readInt(row, END_DAY); }
+
+    @Override
+    public double rentalFee(int row) {
+        return segment(row).getDouble((row & SEGMENT_MASK) * ROW_BYTES + FEE);
+    }
+
+    // Flushes dirty pages to the file
+    public synchronized void force() {
+        header.force();
+        for (MappedByteBuffer segment : segments) {
+            segment.force();
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        force();
+        channel.close();
+    }
+
+    private int readInt(int row, int column) {
+        return segment(row).getInt((row & SEGMENT_MASK) * ROW_BYTES + column);
+    }
+
+    private MappedByteBuffer segment(int row) {
+        int index = row >>> SEGMENT_SHIFT;
+        MappedByteBuffer[] mapped = segments;
+        if (index < mapped.length) {
+            return mapped[index];
+        }
+        synchronized (this) {
+            mapSegmentsUpTo(index);
+            return segments[index];
+        }
+    }
+
+    private MappedByteBuffer segmentForWrite(int row) {
+        mapSegmentsUpTo(row >>> SEGMENT_SHIFT);
+        return segments[row >>> SEGMENT_SHIFT];
+    }
+
+    // Mapping past the end of the file grows it
+    private void mapSegmentsUpTo(int index) {
+        try {
+            MappedByteBuffer[] mapped = segments;
+            if (index < mapped.length) return;
+            MappedByteBuffer[] grown = Arrays.copyOf(mapped, index + 1);
+            for (int i = mapped.length; i <= index; i++) {
+                long position = HEADER_BYTES + i * SEGMENT_BYTES;
+                grown[i] = channel.map(FileChannel.MapMode.READ_WRITE, position, SEGMENT_BYTES);
+                grown[i].order(ByteOrder.LITTLE_ENDIAN);
+            }
+            segments = grown;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot map rental ledger segment " + index, e);
+        }
+    }
+}
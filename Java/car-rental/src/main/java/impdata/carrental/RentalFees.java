@@ -0,0 +1,22 @@
+package impdata.carrental;
+
+// Fee arithmetic in whole cents. The ledgers and RentalRecord keep dollars as doubles (their file
+// and snapshot formats predate this), which hold any cent amount exactly enough to round-trip.
+public final class RentalFees {
+
+    public static final long DAILY_RATE_CENTS = 50_00; // $50 per day
+
+    private RentalFees() {}
+
+    public static long feeCents(int startDay, int endDay) {
+        return (endDay - startDay) * DAILY_RATE_CENTS;
+    }
+
+    public static double toDollars(long cents) {
+        return cents / 100.0;
+    }
+
+    public static long toCents(double dollars) {
+        return Math.round(dollars * 100);
+    }
+}
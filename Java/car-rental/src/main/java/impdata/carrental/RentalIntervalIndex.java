@@ -0,0 +1,236 @@
+package impdata.carrental;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+// Ledger rows as day intervals [startDay, endDay), open rentals running forever. A rental returned
+// on the day it started still occupies that day.
+//
+// Rows are bucketed by start day; each bucket keeps (endDay, row) packed in longs in ascending
+// order, so the rows of a bucket still out after day X are a suffix, and a new open rental (the
+// largest row, ending never) is an append rather than a shift of the whole bucket. A max tree over the
+// buckets' largest endDay skips every day whose rentals all ended before X: overlap queries cost
+// O(log D) plus the buckets and rows they report, for D days covered.
+//
+// Cars out per day come from a Fenwick tree over per-day changes (+1 on the start day, -1 on the
+// return day), so a utilization series costs O(log D) plus one step per day.
+public class RentalIntervalIndex {
+
+    private static final int OPEN_END = Integer.MAX_VALUE;
+    private static final int EMPTY = Integer.MIN_VALUE;
+    private static final int INITIAL_DAYS = 1024;
+    // About 2,900 years; wider spans are refused rather than allocated
+    private static final int MAX_DAYS = 1 << 20;
+
+    private int baseDay;
+    private int days;          // power of two, 0 until the first rental
+    private long[][] buckets;
+    private int[] bucketSizes;
+    private int[] maxEnd;      // implicit tree, leaves at days + bucket
+    private int[] changes;     // per-day +/- of cars out
+    private int[] fenwick;     // prefix sums of changes, 1-based
+
+    public synchronized void open(int row, int startDay) {
+        ensureDay(startDay);
+        insert(startDay - baseDay, pack(OPEN_END, row));
+        addChange(startDay, 1);
+    }
+
+    public synchronized void close(int row, int startDay, int endDay) {
+        int end = Math.max(endDay, startDay + 1);
+        ensureDay(end);
+        int bucket = startDay - baseDay;
+        remove(bucket, pack(OPEN_END, row));
+        insert(bucket, pack(end, row));
+        addChange(end, -1);
+    }
+
+    // Rows of the rentals out on any day in [fromDay, toDay], ordered by start day
+    public synchronized int[] overlapping(int fromDay, int toDay) {
+        if (days == 0 || toDay < fromDay) return new int[0];
+        int lastBucket = Math.min(toDay - baseDay, days - 1);
+        if (lastBucket < 0) return new int[0];
+        RowCollector rows = new RowCollector();
+        collect(1, 0, days - 1, lastBucket, fromDay, rows);
+        return rows.toArray();
+    }
+
+    // Cars out on each day in [fromDay, toDay]
+    public synchronized int[] carsOutPerDay(int fromDay, int toDay) {
+        if (toDay < fromDay) return new int[0];
+        int[] series = new int[toDay - fromDay + 1];
+        if (days == 0) return series;
+        int out = carsOutOn(fromDay);
+        series[0] = out;
+        for (int day = fromDay + 1; day <= toDay; day++) {
+            int offset = day - baseDay;
+            if (offset >= 0 && offset < days) out += changes[offset];
+            series[day - fromDay] = out;
+        }
+        return series;
+    }
+
+    private int carsOutOn(int day) {
+        int offset = Math.min(day - baseDay, days - 1);
+        int sum = 0;
+        for (int i = offset + 1; i > 0; i -= i & -i) {
+            sum += fenwick[i];
+        }
+        return sum;
+    }
+
+    // Descends into subtrees that hold buckets at or before lastBucket with a rental ending after fromDay
+    private void collect(int node, int lo, int hi, int lastBucket, int fromDay, IntConsumer rows) {
+        if (lo > lastBucket || maxEnd[node] <= fromDay) return;
+        if (lo == hi) {
+            long[] bucket = buckets[lo];
+            for (int i = bucketSizes[lo] - 1; i >= 0 && end(bucket[i]) > fromDay; i--) {
+                rows.accept(row(bucket[i]));
+            }
+            return;
+        }
+        int mid = (lo + hi) >>> 1;
+        collect(2 * node, lo, mid, lastBucket, fromDay, rows);
+        collect(2 * node + 1, mid + 1, hi, lastBucket, fromDay, rows);
+    }
+
+    private void insert(int bucket, long entry) {
+        long[] entries = buckets[bucket];
+        int size = bucketSizes[bucket];
+        if (entries == null) {
+            entries = buckets[bucket] = new long[4];
+        } else if (size == entries.length) {
+            entries = buckets[bucket] = Arrays.copyOf(entries, size * 2);
+        }
+        int at = position(entries, size, entry);
+        System.arraycopy(entries, at, entries, at + 1, size - at);
+        entries[at] = entry;
+        bucketSizes[bucket] = size + 1;
+        updateMax(bucket);
+    }
+
+    private void remove(int bucket, long entry) {
+        long[] entries = buckets[bucket];
+        int size = bucketSizes[bucket];
+        int at = position(entries, size, entry);
+        if (at == size || entries[at] != entry) return;
+        System.arraycopy(entries, at + 1, entries, at, size - at - 1);
+        bucketSizes[bucket] = size - 1;
+        updateMax(bucket);
+    }
+
+    // First index whose entry is not less than entry; searches from the end, where new open
+    // rentals and recent returns land
+    private static int position(long[] entries, int size, long entry) {
+        if (size == 0 || entries[size - 1] < entry) return size;
+        int lo = 0;
+        int hi = size - 1;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (entries[mid] < entry) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    private void updateMax(int bucket) {
+        int node = days + bucket;
+        maxEnd[node] = bucketSizes[bucket] == 0 ? EMPTY : end(buckets[bucket][bucketSizes[bucket] - 1]);
+        for (node >>= 1; node > 0; node >>= 1) {
+            maxEnd[node] = Math.max(maxEnd[2 * node], maxEnd[2 * node + 1]);
+        }
+    }
+
+    private void addChange(int day, int delta) {
+        int offset = day - baseDay;
+        changes[offset] += delta;
+        for (int i = offset + 1; i <= days; i += i & -i) {
+            fenwick[i] += delta;
+        }
+    }
+
+    // Widens the covered days to include day, doubling until it fits, and rebuilds the trees.
+    // Throws before changing anything if that would cover more than MAX_DAYS.
+    private void ensureDay(int day) {
+        // Keeps baseDay + days and the span arithmetic below well inside the int range
+        if (Math.abs(day) > Integer.MAX_VALUE / 2) {
+            throw new IllegalArgumentException("Rental day out of range: " + day);
+        }
+        if (days == 0) {
+            allocate(day, INITIAL_DAYS);
+            return;
+        }
+        if (day >= baseDay && day < baseDay + days) return;
+
+        int firstDay = Math.min(baseDay, day);
+        int lastDay = Math.max(baseDay + days - 1, day);
+        if ((long) lastDay - firstDay + 1 > MAX_DAYS) {
+            throw new IllegalArgumentException("Rental dates span more than " + MAX_DAYS + " days");
+        }
+        int newDays = days;
+        while (newDays < lastDay - firstDay + 1) {
+            newDays *= 2;
+        }
+        // Growing downwards keeps the last day and leaves the new room below, so walking back
+        // a day at a time doesn't double the size on every step
+        int newBase = day < baseDay ? lastDay - newDays + 1 : baseDay;
+        long[][] oldBuckets = buckets;
+        int[] oldSizes = bucketSizes;
+        int[] oldChanges = changes;
+        int shift = baseDay - newBase;
+        allocate(newBase, newDays);
+        System.arraycopy(oldBuckets, 0, buckets, shift, oldBuckets.length);
+        System.arraycopy(oldSizes, 0, bucketSizes, shift, oldSizes.length);
+        System.arraycopy(oldChanges, 0, changes, shift, oldChanges.length);
+
+        for (int bucket = 0; bucket < days; bucket++) {
+            maxEnd[days + bucket] = bucketSizes[bucket] == 0 ? EMPTY : end(buckets[bucket][bucketSizes[bucket] - 1]);
+        }
+        for (int node = days - 1; node > 0; node--) {
+            maxEnd[node] = Math.max(maxEnd[2 * node], maxEnd[2 * node + 1]);
+        }
+        for (int i = 1; i <= days; i++) {
+            fenwick[i] += changes[i - 1];
+            int parent = i + (i & -i);
+            if (parent <= days) fenwick[parent] += fenwick[i];
+        }
+    }
+
+    private void allocate(int base, int size) {
+        baseDay = base;
+        days = size;
+        buckets = new long[size][];
+        bucketSizes = new int[size];
+        maxEnd = new int[2 * size];
+        Arrays.fill(maxEnd, EMPTY);
+        changes = new int[size];
+        fenwick = new int[size + 1];
+    }
+
+    private static long pack(int end, int row) {
+        return (long) end << 32 | row;
+    }
+
+    private static int end(long entry) {
+        return (int) (entry >> 32);
+    }
+
+    private static int row(long entry) {
+        return (int) entry;
+    }
+
+    private static final class RowCollector implements IntConsumer {
+        private int[] rows = new int[16];
+        private int size;
+
+        @Override
+        public void accept(int row) {
+            if (size == rows.length) rows = Arrays.copyOf(rows, size * 2);
+            rows[size++] = row;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(rows, size);
+        }
+    }
+}
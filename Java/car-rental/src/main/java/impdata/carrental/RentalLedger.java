@@ -0,0 +1,43 @@
+package impdata.carrental;
+
+import java.time.LocalDate;
+
+// Storage for rental records, addressed by row. Endpoints read the columns of a row directly and
+// only build RentalRecord DTOs (toRecord) for the rows they return. Dates are epoch days.
+public interface RentalLedger {
+
+    // endDay of a rental that has not been returned yet
+    int OPEN = Integer.MIN_VALUE;
+
+    int size();
+
+    // Appends an open rental and returns its row; throws if a rental with this id is still open
+    int append(int rentalId, int carId, int customerId, int startDay);
+
+    // Row of the open rental with this id, or -1
+    int findOpen(int rentalId);
+
+    // Rows of the open rentals findOpen knows about: at most one per car, however long the ledger
+    int[] openRows();
+
+    void close(int row, int endDay, double rentalFee);
+
+    int rentalId(int row);
+    int carId(int row);
+    int customerId(int row);
+    int startDay(int row);
+    int endDay(int row);
+    double rentalFee(int row);
+
+    default long rentalFeeCents(int row) {
+        return RentalFees.toCents(rentalFee(row));
+    }
+
+    default RentalRecord toRecord(int row) {
+        int endDay = endDay(row);
+        return new RentalRecord(rentalId(row), carId(row), customerId(row),
+                LocalDate.ofEpochDay(startDay(row)),
+                endDay == OPEN ? null : LocalDate.ofEpochDay(endDay),
+                rentalFee(row));
+    }
+}
@@ -0,0 +1,42 @@
+package impdata.carrental;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import java.time.LocalDate;
+
+@Entity
+public class RentalRecord {
+    @Id
+    private int rentalId;
+    private int carId;
+    private int customerId;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private double rentalFee;
+
+    // Constructors
+    public RentalRecord() {}
+    public RentalRecord(int rentalId, int carId, int customerId,
+                        LocalDate startDate, LocalDate endDate, double rentalFee) {
+        this.rentalId = rentalId;
+        this.carId = carId;
+        this.customerId = customerId;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.rentalFee = rentalFee;
+    }
+
+    // Getters & Setters
+    public int getRentalId() { return rentalId; }
+    public void setRentalId(int rentalId) { this.rentalId = rentalId; }
+    public int getCarId() { return carId; }
+    public void setCarId(int carId) { this.carId = carId; }
+    public int getCustomerId() { return customerId; }
+    public void setCustomerId(int customerId) { this.customerId = customerId; }
+    public LocalDate getStartDate() { return startDate; }
+    public void setStartDate(LocalDate startDate) { this.startDate = startDate; }
+    public LocalDate getEndDate() { return endDate; }
+    public void setEndDate(LocalDate endDate) { this.endDate = endDate; }
+    public double getRentalFee() { return rentalFee; }
+    public void setRentalFee(double rentalFee) { this.rentalFee = rentalFee; }
+}
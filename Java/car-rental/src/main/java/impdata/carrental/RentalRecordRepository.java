@@ -0,0 +1,5 @@
+package impdata.carrental;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface RentalRecordRepository extends JpaRepository<RentalRecord, Integer> {}
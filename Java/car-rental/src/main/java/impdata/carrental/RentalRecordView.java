@@ -0,0 +1,38 @@
+package impdata.carrental;
+
+import java.util.AbstractList;
+import java.util.RandomAccess;
+
+// Read-only list over ledger rows that builds each RentalRecord only when it is read, i.e. while
+// the response is being serialized. rows == null means every row below size.
+public class RentalRecordView extends AbstractList<RentalRecord> implements RandomAccess {
+
+    private final RentalLedger ledger;
+    private final int[] rows;
+    private final int size;
+
+    public static RentalRecordView all(RentalLedger ledger) {
+        return new RentalRecordView(ledger, null, ledger.size());
+    }
+
+    public static RentalRecordView of(RentalLedger ledger, int[] rows) {
+        return new RentalRecordView(ledger, rows, rows.length);
+    }
+
+    private RentalRecordView(RentalLedger ledger, int[] rows, int size) {
+        this.ledger = ledger;
+        this.rows = rows;
+        this.size = size;
+    }
+
+    @Override
+    public RentalRecord get(int index) {
+        if (index < 0 || index >= size) throw new IndexOutOfBoundsException(index);
+        return ledger.toRecord(rows == null ? index : rows[index]);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+}
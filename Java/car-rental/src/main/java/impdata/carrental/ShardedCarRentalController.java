@@ -0,0 +1,291 @@
+package impdata.carrental;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.Closeable;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+// The /cars API over several shards. Each car, and so every rental of it, lives on the shard that
+// owns its carId on a consistent-hash ring; per-car calls go to that shard only. Customer-wide and
+// fleet-wide queries are sent to all shards in parallel and their partial results merged: lists
+// are concatenated, fees summed in cents, model counts added up before picking the most popular,
+// cars out per day and fleet sizes added up before taking their ratio.
+//
+// Set cars.shards to a comma-separated list of shard base URLs to run as a router; in-process
+// shards are built with the Map constructor.
+@RestController
+@RequestMapping("/cars")
+@ConditionalOnProperty("cars.shards")
+public class ShardedCarRentalController implements CarRentalShard, Closeable {
+
+    private static final int VIRTUAL_NODES = 128;
+
+    private final List<CarRentalShard> shards;
+    private final ConsistentHashRing<CarRentalShard> ring;
+    // Shard of each open rental rented through this router, so a return (which carries no carId) is
+    // routed, and a rental id can't be opened on a second shard
+    private final Map<Integer, CarRentalShard> rentalOwners = new ConcurrentHashMap<>();
+    private final ExecutorService scatter;
+
+    public ShardedCarRentalController(Map<String, ? extends CarRentalShard> shardsByName) {
+        this.shards = List.copyOf(shardsByName.values());
+        List<String> names = List.copyOf(shardsByName.keySet());
+        this.ring = new ConsistentHashRing<>(shards, shard -> names.get(shards.indexOf(shard)), VIRTUAL_NODES);
+        this.scatter = Executors.newFixedThreadPool(Math.max(2, shards.size() * 2), r -> {
+            Thread thread = new Thread(r, "car-rental-scatter");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Autowired
+    public ShardedCarRentalController(@Value("${cars.shards}") String shardUrls,
+                                      @Value("${cars.shards.timeout:PT5S}") Duration requestTimeout,
+                                      ObjectMapper mapper) {
+        this(httpShards(shardUrls, requestTimeout, mapper));
+    }
+
+    // Shard that owns a car
+    public CarRentalShard shardFor(int carId) {
+        return ring.nodeFor(carId);
+    }
+
+    @PostMapping("/add")
+    @Override
+    public boolean addCar(@RequestBody Car car) {
+        return shardFor(car.getId()).addCar(car);
+    }
+
+    @GetMapping("/{id}")
+    @Override
+    public Car getCarById(@PathVariable int id) {
+        return shardFor(id).getCarById(id);
+    }
+
+    @GetMapping("/available")
+    @Override
+    public List<Car> getAvailableCars() {
+        return concat(CarRentalShard::getAvailableCars);
+    }
+
+    @PostMapping("/rent")
+    public void rentCar(@RequestParam int rentalId,
+                        @RequestParam int carId,
+                        @RequestParam int customerId,
+                        @RequestParam String startDate) {
+        tryRent(rentalId, carId, customerId, startDate);
+    }
+
+    @PostMapping("/shard/rent")
+    @Override
+    public boolean tryRent(@RequestParam int rentalId,
+                           @RequestParam int carId,
+                           @RequestParam int customerId,
+                           @RequestParam String startDate) {
+        CarRentalShard owner = shardFor(carId);
+        // Claims the rental id first, so the same id can't be opened on two shards at once; the
+        // claim is dropped again if the shard refuses or fails, leaving no owner behind
+        if (rentalOwners.putIfAbsent(rentalId, owner) != null) return false;
+        boolean rented = false;
+        try {
+            rented = owner.tryRent(rentalId, carId, customerId, startDate);
+            return rented;
+        } finally {
+            if (!rented) rentalOwners.remove(rentalId, owner);
+        }
+    }
+
+    // Rentals this router didn't see rented (e.g. before a restart) are looked up on every shard;
+    // one open on none of them is 404
+    @PostMapping("/return")
+    @Override
+    public void returnCar(@RequestParam int rentalId,
+                          @RequestParam String endDate) {
+        CarRentalShard owner = rentalOwners.get(rentalId);
+        if (owner == null) {
+            owner = scatter(shard -> shard.isRentalOpen(rentalId) ? shard : null).stream()
+                    .filter(Objects::nonNull)
+                    .findFirst()
+                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "No open rental " + rentalId));
+        }
+        owner.returnCar(rentalId, endDate);
+        // Only once the shard took the return, so a rejected one (a bad date) still finds its shard
+        rentalOwners.remove(rentalId, owner);
+    }
+
+    @GetMapping("/rentals")
+    @Override
+    public List<RentalRecord> getAllRentalRecords() {
+        return concat(CarRentalShard::getAllRentalRecords);
+    }
+
+    @GetMapping("/{carId}/rentals")
+    @Override
+    public List<RentalRecord> getRentalsForCar(@PathVariable int carId) {
+        return shardFor(carId).getRentalsForCar(carId);
+    }
+
+    // Grouped by shard, each shard's rentals in the order it recorded them
+    @GetMapping("/customer/{customerId}/rentals")
+    @Override
+    public List<RentalRecord> getRentalsForCustomer(@PathVariable int customerId) {
+        return concat(shard -> shard.getRentalsForCustomer(customerId));
+    }
+
+    @GetMapping("/out")
+    @Override
+    public List<RentalRecord> getRentalsBetween(@RequestParam String from, @RequestParam String to) {
+        List<RentalRecord> rentals = concat(shard -> shard.getRentalsBetween(from, to));
+        rentals.sort(Comparator.comparing(RentalRecord::getStartDate));
+        return rentals;
+    }
+
+    // Cars out on each day summed over the shards, as a share of the whole fleet
+    @GetMapping("/utilization")
+    @Override
+    public List<DailyUtilization> getDailyUtilization(@RequestParam String from, @RequestParam String to) {
+        List<Map.Entry<Integer, List<DailyUtilization>>> partials =
+                scatter(shard -> Map.entry(shard.getFleetSize(), shard.getDailyUtilization(from, to)));
+        List<DailyUtilization> days = partials.get(0).getValue();
+        int fleetSize = 0;
+        int[] carsOut = new int[days.size()];
+        for (Map.Entry<Integer, List<DailyUtilization>> partial : partials) {
+            fleetSize += partial.getKey();
+            List<DailyUtilization> series = partial.getValue();
+            for (int i = 0; i < carsOut.length; i++) {
+                carsOut[i] += series.get(i).carsOut();
+            }
+        }
+        List<DailyUtilization> merged = new ArrayList<>(carsOut.length);
+        for (int i = 0; i < carsOut.length; i++) {
+            double utilization = fleetSize == 0 ? 0.0 : (double) carsOut[i] / fleetSize;
+            merged.add(new DailyUtilization(days.get(i).date(), carsOut[i], utilization));
+        }
+        return merged;
+    }
+
+    @GetMapping("/fleet/size")
+    @Override
+    public int getFleetSize() {
+        return scatter(CarRentalShard::getFleetSize).stream().mapToInt(Integer::intValue).sum();
+    }
+
+    @GetMapping("/popular/counts")
+    @Override
+    public Map<String, Long> getRentalCountsByModel() {
+        Map<String, Long> counts = new HashMap<>();
+        for (Map<String, Long> partial : scatter(CarRentalShard::getRentalCountsByModel)) {
+            partial.forEach((model, count) -> counts.merge(model, count, Long::sum));
+        }
+        return counts;
+    }
+
+    @GetMapping("/popular")
+    public String getMostPopularModel() {
+        return getRentalCountsByModel().entrySet().stream()
+                .max(Map.Entry.comparingByValue())
+                .map(Map.Entry::getKey)
+                .orElse(null);
+    }
+
+    @GetMapping("/fees")
+    @Override
+    public double getTotalRentalFees() {
+        return sumFees(CarRentalShard::getTotalRentalFees);
+    }
+
+    @GetMapping("/available/{model}/{year}")
+    @Override
+    public List<Car> getAvailableByModelYear(@PathVariable String model, @PathVariable int year) {
+        return concat(shard -> shard.getAvailableByModelYear(model, year));
+    }
+
+    @GetMapping("/{carId}/duration")
+    @Override
+    public long getRentalDurationForCar(@PathVariable int carId) {
+        return shardFor(carId).getRentalDurationForCar(carId);
+    }
+
+    @GetMapping("/customer/{customerId}/fees")
+    @Override
+    public double getTotalFeesForCustomer(@PathVariable int customerId) {
+        return sumFees(shard -> shard.getTotalFeesForCustomer(customerId));
+    }
+
+    @GetMapping("/rental/{rentalId}")
+    @Override
+    public RentalRecord getRentalById(@PathVariable int rentalId) {
+        return scatter(shard -> shard.getRentalById(rentalId)).stream()
+                .filter(Objects::nonNull)
+                .findFirst()
+                .orElse(null);
+    }
+
+    @GetMapping("/rental/{rentalId}/open")
+    @Override
+    public boolean isRentalOpen(@PathVariable int rentalId) {
+        return scatter(shard -> shard.isRentalOpen(rentalId)).contains(true);
+    }
+
+    @Override
+    public void close() {
+        scatter.shutdown();
+    }
+
+    private <R> List<R> concat(Function<CarRentalShard, List<R>> call) {
+        List<R> merged = new ArrayList<>();
+        for (List<R> partial : scatter(call)) {
+            merged.addAll(partial);
+        }
+        return merged;
+    }
+
+    private double sumFees(Function<CarRentalShard, Double> call) {
+        long cents = 0;
+        for (double partial : scatter(call)) {
+            cents += RentalFees.toCents(partial);
+        }
+        return RentalFees.toDollars(cents);
+    }
+
+    // Calls every shard in parallel; results are in shard order
+    private <R> List<R> scatter(Function<CarRentalShard, R> call) {
+        List<CompletableFuture<R>> futures = new ArrayList<>(shards.size());
+        for (CarRentalShard shard : shards) {
+            futures.add(CompletableFuture.supplyAsync(() -> call.apply(shard), scatter));
+        }
+        List<R> results = new ArrayList<>(shards.size());
+        for (CompletableFuture<R> future : futures) {
+            try {
+                results.add(future.join());
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) throw cause;
+                throw e;
+            }
+        }
+        return results;
+    }
+
+    private static Map<String, CarRentalShard> httpShards(String shardUrls, Duration requestTimeout, ObjectMapper mapper) {
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(2)).build();
+        Map<String, CarRentalShard> shards = new LinkedHashMap<>();
+        for (String url : shardUrls.split(",")) {
+            if (!url.isBlank()) shards.put(url.trim(), new HttpCarRentalShard(url.trim(), client, requestTimeout, mapper));
+        }
+        return shards;
+    }
+}
@@ -0,0 +1,116 @@
+package impdata.carrental;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CarRentalControllerTest {
+
+    private final CarRentalController controller = new CarRentalController();
+
+    @Test
+    void refusesARentalIdThatIsStillOpen() {
+        controller.addCar(new Car(1, "Corolla", 2020, true));
+        controller.addCar(new Car(2, "Civic", 2021, true));
+
+        assertTrue(controller.tryRent(7, 1, 100, "2024-01-01"));
+        assertFalse(controller.tryRent(7, 2, 100, "2024-01-02"));
+        assertTrue(controller.getCarById(2).isAvailable());
+
+        controller.returnCar(7, "2024-01-03");
+        assertTrue(controller.getCarById(1).isAvailable());
+        assertEquals(1, controller.getAllRentalRecords().size());
+    }
+
+    @Test
+    void reusesARentalIdOnceItIsReturned() {
+        controller.addCar(new Car(1, "Corolla", 2020, true));
+
+        assertTrue(controller.tryRent(7, 1, 100, "2024-01-01"));
+        controller.returnCar(7, "2024-01-03");
+        assertTrue(controller.tryRent(7, 1, 100, "2024-01-05"));
+        assertFalse(controller.getCarById(1).isAvailable());
+
+        controller.returnCar(7, "2024-01-06");
+        assertTrue(controller.getCarById(1).isAvailable());
+        assertEquals(2, controller.getRentalsForCar(1).size());
+    }
+
+    @Test
+    void readsTheFleetAndLedgerWhileTheyGrow() {
+        int cars = 20_000;
+        AtomicBoolean writing = new AtomicBoolean(true);
+        CompletableFuture<Void> writer = CompletableFuture.runAsync(() -> {
+            try {
+                for (int id = 1; id <= cars; id++) {
+                    controller.addCar(new Car(id, "Model" + id % 5, 2020, true));
+                    if (id % 2 == 0) controller.rentCar(id, id, id % 100, "2024-01-01");
+                }
+            } finally {
+                writing.set(false);
+            }
+        });
+        int reads = 0;
+        while (writing.get()) {
+            controller.getAvailableCars();
+            controller.getAvailableByModelYear("Model1", 2020);
+            controller.getDailyUtilization("2024-01-01", "2024-01-02");
+            controller.getRentalsForCustomer(7);
+            controller.getTotalRentalFees();
+            reads++;
+        }
+        writer.join();
+
+        assertTrue(reads > 0);
+        assertEquals(cars / 2, controller.getAvailableCars().size());
+        assertEquals(cars / 2, controller.getAllRentalRecords().size());
+        assertEquals(cars / 2, controller.getDailyUtilization("2024-01-01", "2024-01-01").get(0).carsOut());
+    }
+
+    @Test
+    void leavesStateUntouchedWhenTheJournalRefusesAnEvent() {
+        RefusingJournal journal = new RefusingJournal();
+        CarRentalController journaled = new CarRentalController(
+                new CarRentalMetrics(new SimpleMeterRegistry()), new InMemoryRentalLedger(), journal);
+        journaled.addCar(new Car(1, "Corolla", 2020, true));
+        journaled.rentCar(7, 1, 100, "2024-01-01");
+
+        journal.refusing = true;
+        assertThrows(UncheckedIOException.class, () -> journaled.addCar(new Car(2, "Civic", 2021, true)));
+        assertThrows(UncheckedIOException.class, () -> journaled.returnCar(7, "2024-01-03"));
+        assertNull(journaled.getCarById(2));
+        assertFalse(journaled.getCarById(1).isAvailable());
+        assertTrue(journaled.isRentalOpen(7));
+
+        journal.refusing = false;
+        journaled.returnCar(7, "2024-01-03");
+        journal.refusing = true;
+        assertThrows(UncheckedIOException.class, () -> journaled.rentCar(8, 1, 100, "2024-01-04"));
+        assertTrue(journaled.getCarById(1).isAvailable());
+        assertFalse(journaled.isRentalOpen(8));
+        assertEquals(1, journaled.getAllRentalRecords().size());
+    }
+
+    // Accepts events until refusing is set, then fails every append as a broken disk would
+    private static final class RefusingJournal implements CarRentalJournal {
+        volatile boolean refusing;
+        private long nextLsn;
+
+        private long append() {
+            if (refusing) throw new UncheckedIOException("Journal write failed", new IOException("disk full"));
+            return nextLsn++;
+        }
+
+        @Override public long addCar(Car car) { return append(); }
+        @Override public long rent(int rentalId, int carId, int customerId, int startDay) { return append(); }
+        @Override public long returned(int rentalId, int endDay) { return append(); }
+        @Override public void awaitDurable(long lsn) { }
+        @Override public long roll() { return nextLsn; }
+    }
+}
@@ -0,0 +1,106 @@
+package impdata.carrental;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CarRentalPersistenceTest {
+
+    @TempDir
+    Path directory;
+
+    private FileCarRentalJournal journal;
+    private CarRentalPersistence persistence;
+
+    private CarRentalController start() {
+        journal = new FileCarRentalJournal(directory, true, 5);
+        CarRentalController controller = new CarRentalController(
+                new CarRentalMetrics(new SimpleMeterRegistry()), new InMemoryRentalLedger(), journal);
+        persistence = new CarRentalPersistence(controller, journal);
+        persistence.recover();
+        return controller;
+    }
+
+    private void stop() throws IOException {
+        persistence.close();
+        journal.close();
+    }
+
+    // Fleet and ledger as comparable text
+    private static String dump(CarRentalController controller) {
+        String fleet = controller.getAvailableCars().stream()
+                .map(car -> car.getId() + ":" + car.getModel())
+                .collect(Collectors.joining(","));
+        String rentals = controller.getAllRentalRecords().stream()
+                .map(r -> r.getRentalId() + "/" + r.getCarId() + "/" + r.getCustomerId() + "/" + r.getStartDate()
+                        + "/" + r.getEndDate() + "/" + r.getRentalFee())
+                .collect(Collectors.joining(","));
+        return fleet + " | " + rentals;
+    }
+
+    private static void addFleetAndRentals(CarRentalController controller) {
+        for (int id = 1; id <= 5; id++) {
+            controller.addCar(new Car(id, "Model" + id, 2020, true));
+        }
+        controller.rentCar(1, 1, 100, "2024-01-01");
+        controller.rentCar(2, 2, 101, "2024-01-02");
+        controller.returnCar(1, "2024-01-04");
+    }
+
+    @Test
+    void recoversFromTheJournalAlone() throws IOException {
+        CarRentalController before = start();
+        addFleetAndRentals(before);
+        String expected = dump(before);
+        stop();
+
+        CarRentalController after = start();
+        assertEquals(expected, dump(after));
+        assertTrue(after.isRentalOpen(2));
+        assertFalse(after.getCarById(2).isAvailable());
+        stop();
+    }
+
+    @Test
+    void recoversFromASnapshotAndTheJournalAfterIt() throws IOException {
+        CarRentalController before = start();
+        addFleetAndRentals(before);
+        persistence.snapshot();
+        before.rentCar(3, 3, 102, "2024-01-05");
+        before.returnCar(2, "2024-01-06");
+        before.addCar(new Car(6, "Model6", 2021, true));
+        String expected = dump(before);
+        stop();
+
+        CarRentalController after = start();
+        assertEquals(expected, dump(after));
+        assertEquals(List.of(3), after.getRentalsForCustomer(102).stream().map(RentalRecord::getRentalId).toList());
+        assertTrue(after.isRentalOpen(3));
+        assertFalse(after.isRentalOpen(2));
+        stop();
+    }
+
+    @Test
+    void keepsWritingAfterARecoveryFromASnapshot() throws IOException {
+        CarRentalController first = start();
+        addFleetAndRentals(first);
+        persistence.snapshot();
+        stop();
+
+        CarRentalController second = start();
+        second.returnCar(2, "2024-01-03");
+        second.rentCar(4, 2, 103, "2024-01-07");
+        String expected = dump(second);
+        stop();
+
+        assertEquals(expected, dump(start()));
+        stop();
+    }
+}
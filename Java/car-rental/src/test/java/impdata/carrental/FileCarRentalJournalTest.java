@@ -0,0 +1,127 @@
+package impdata.carrental;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FileCarRentalJournalTest {
+
+    @TempDir
+    Path directory;
+
+    // Replayed events as strings, in replay order
+    private static final class Recorder implements CarRentalJournal.Replay {
+        final List<String> events = new ArrayList<>();
+
+        @Override
+        public void addCar(Car car) {
+            events.add("add " + car.getId() + " " + car.getModel() + " " + car.getYear() + " " + car.isAvailable());
+        }
+
+        @Override
+        public void rent(int rentalId, int carId, int customerId, int startDay) {
+            events.add("rent " + rentalId + " " + carId + " " + customerId + " " + startDay);
+        }
+
+        @Override
+        public void returned(int rentalId, int endDay) {
+            events.add("return " + rentalId + " " + endDay);
+        }
+    }
+
+    private FileCarRentalJournal writeThreeEvents() throws IOException {
+        FileCarRentalJournal journal = new FileCarRentalJournal(directory, true, 5);
+        journal.start(0);
+        journal.addCar(new Car(1, "Corolla", 2020, true));
+        journal.rent(7, 1, 100, 19_723);
+        journal.awaitDurable(journal.returned(7, 19_725));
+        return journal;
+    }
+
+    @Test
+    void replaysEventsInOrder() throws IOException {
+        writeThreeEvents().close();
+
+        Recorder recorder = new Recorder();
+        assertEquals(3, FileCarRentalJournal.replay(directory, 0, recorder));
+        assertEquals(List.of("add 1 Corolla 2020 true", "rent 7 1 100 19723", "return 7 19725"), recorder.events);
+    }
+
+    @Test
+    void replaysFromAnLsn() throws IOException {
+        writeThreeEvents().close();
+
+        Recorder recorder = new Recorder();
+        assertEquals(3, FileCarRentalJournal.replay(directory, 2, recorder));
+        assertEquals(List.of("return 7 19725"), recorder.events);
+    }
+
+    @Test
+    void keepsANullModel() throws IOException {
+        FileCarRentalJournal journal = new FileCarRentalJournal(directory, true, 5);
+        journal.start(0);
+        journal.awaitDurable(journal.addCar(new Car(2, null, 2019, false)));
+        journal.close();
+
+        Recorder recorder = new Recorder();
+        FileCarRentalJournal.replay(directory, 0, recorder);
+        assertEquals(List.of("add 2 null 2019 false"), recorder.events);
+    }
+
+    @Test
+    void cutsOffATornFrameAtTheEnd() throws IOException {
+        writeThreeEvents().close();
+        Path file = journalFiles().get(0);
+        long complete = Files.size(file);
+        // A frame header promising 17 payload bytes, then the crash
+        Files.write(file, new byte[] { 0, 0, 0, 17, 1, 2, 3, 4, 2, 0, 0 }, StandardOpenOption.APPEND);
+
+        Recorder recorder = new Recorder();
+        assertEquals(3, FileCarRentalJournal.replay(directory, 0, recorder));
+        assertEquals(3, recorder.events.size());
+        assertEquals(complete, Files.size(file));
+    }
+
+    @Test
+    void refusesAnEventReplayCouldNotReadBack() throws IOException {
+        FileCarRentalJournal journal = writeThreeEvents();
+        String model = "x".repeat(Short.MAX_VALUE + 1);
+        assertThrows(IllegalArgumentException.class, () -> journal.addCar(new Car(2, model, 2020, true)));
+        journal.awaitDurable(journal.rent(8, 1, 100, 19_730));
+        journal.close();
+
+        Recorder recorder = new Recorder();
+        assertEquals(4, FileCarRentalJournal.replay(directory, 0, recorder));
+        assertEquals("rent 8 1 100 19730", recorder.events.get(3));
+    }
+
+    @Test
+    void rollsToANewFileAndDeletesCoveredOnes() throws IOException {
+        FileCarRentalJournal journal = writeThreeEvents();
+        assertEquals(3, journal.roll());
+        journal.awaitDurable(journal.rent(8, 1, 100, 19_730));
+        journal.close();
+        assertEquals(2, journalFiles().size());
+
+        journal.deleteBefore(3);
+        assertEquals(1, journalFiles().size());
+        Recorder recorder = new Recorder();
+        assertEquals(4, FileCarRentalJournal.replay(directory, 3, recorder));
+        assertEquals(List.of("rent 8 1 100 19730"), recorder.events);
+    }
+
+    private List<Path> journalFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(p -> p.getFileName().toString().startsWith("journal-")).sorted().toList();
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package impdata.carrental;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.ErrorResponseException;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HttpCarRentalShardTest {
+
+    private HttpServer server;
+    private HttpCarRentalShard shard;
+
+    @BeforeEach
+    void startStub() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/cars/shard/rent", exchange -> {
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        server.createContext("/cars/fees", exchange -> {
+            byte[] body = "12.5".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.createContext("/cars/rentals", exchange -> {
+            exchange.getResponseHeaders().set("Retry-After", "7");
+            exchange.sendResponseHeaders(503, -1);
+            exchange.close();
+        });
+        server.createContext("/cars/popular/counts", exchange -> {
+            try {
+                Thread.sleep(2_000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        server.start();
+        shard = new HttpCarRentalShard("http://127.0.0.1:" + server.getAddress().getPort(),
+                HttpClient.newHttpClient(), Duration.ofMillis(300), new ObjectMapper());
+    }
+
+    @AfterEach
+    void stopStub() {
+        server.stop(0);
+    }
+
+    @Test
+    void readsAValue() {
+        assertEquals(12.5, shard.getTotalRentalFees());
+    }
+
+    @Test
+    void emptyBodyForAFlagIsAShardError() {
+        IllegalStateException e = assertThrows(IllegalStateException.class,
+                () -> shard.tryRent(1, 1, 1, "2024-01-01"));
+        assertTrue(e.getMessage().contains("/cars/shard/rent"), e.getMessage());
+    }
+
+    @Test
+    void passesServiceUnavailableThroughWithRetryAfter() {
+        ErrorResponseException e = assertThrows(ErrorResponseException.class, shard::getAllRentalRecords);
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE.value(), e.getStatusCode().value());
+        assertEquals("7", e.getHeaders().getFirst("Retry-After"));
+    }
+
+    @Test
+    void timesOutAsGatewayTimeout() {
+        ErrorResponseException e = assertThrows(ErrorResponseException.class, shard::getRentalCountsByModel);
+        assertEquals(HttpStatus.GATEWAY_TIMEOUT.value(), e.getStatusCode().value());
+    }
+}
@@ -0,0 +1,41 @@
+package impdata.carrental;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IsoDatesTest {
+
+    @Test
+    void matchesLocalDateOnEveryDayOfFourHundredYears() {
+        // One full Gregorian cycle covers every leap-year rule
+        for (LocalDate date = LocalDate.of(1800, 1, 1); date.getYear() < 2200; date = date.plusDays(1)) {
+            assertEquals(date.toEpochDay(), IsoDates.parseEpochDay(date.toString()), date.toString());
+        }
+    }
+
+    @Test
+    void matchesLocalDateAtTheEdgesOfTheFastPath() {
+        for (String text : new String[] { "0000-01-01", "0000-02-29", "9999-12-31", "+10000-01-01", "-0001-12-31" }) {
+            assertEquals(LocalDate.parse(text).toEpochDay(), IsoDates.parseEpochDay(text), text);
+        }
+    }
+
+    @Test
+    void rejectsWhatLocalDateRejects() {
+        for (String text : new String[] { "2023-02-29", "1900-02-29", "2024-13-01", "2024-00-10", "2024-04-31",
+                "2024-1-01", "2024/01/01", "20x4-01-01", "2024-01-0a", "", "2024-01-01T00:00" }) {
+            assertThrows(DateTimeParseException.class, () -> IsoDates.parseEpochDay(text), text);
+        }
+    }
+
+    @Test
+    void rejectsDatesBeyondAnIntEpochDay() {
+        String text = "+999999999-12-31";
+        assertTrue(LocalDate.parse(text).toEpochDay() > Integer.MAX_VALUE);
+        assertThrows(DateTimeParseException.class, () -> IsoDates.parseEpochDay(text));
+    }
+}
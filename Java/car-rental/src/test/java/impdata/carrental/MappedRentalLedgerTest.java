@@ -0,0 +1,47 @@
+package impdata.carrental;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedRentalLedgerTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void refusesADuplicateOpenRentalIdWithoutWritingARow() throws Exception {
+        try (MappedRentalLedger ledger = new MappedRentalLedger(directory.resolve("ledger.bin"))) {
+            int row = ledger.append(7, 1, 100, 19_000);
+            assertThrows(IllegalStateException.class, () -> ledger.append(7, 2, 100, 19_001));
+            assertEquals(1, ledger.size());
+            assertEquals(row, ledger.findOpen(7));
+
+            ledger.close(row, 19_003, 150.0);
+            assertEquals(-1, ledger.findOpen(7));
+            assertEquals(1, ledger.append(7, 2, 100, 19_004));
+        }
+    }
+
+    @Test
+    void reopensWithRowsAndOpenRentals() throws Exception {
+        Path file = directory.resolve("ledger.bin");
+        try (MappedRentalLedger ledger = new MappedRentalLedger(file)) {
+            ledger.close(ledger.append(1, 10, 100, 19_000), 19_002, 100.0);
+            ledger.append(2, 11, 101, 19_001);
+        }
+        try (MappedRentalLedger ledger = new MappedRentalLedger(file)) {
+            assertEquals(2, ledger.size());
+            assertEquals(-1, ledger.findOpen(1));
+            assertEquals(1, ledger.findOpen(2));
+            assertArrayEquals(new int[] { 1 }, ledger.openRows());
+            assertEquals(19_002, ledger.endDay(0));
+            assertEquals(100.0, ledger.rentalFee(0));
+            assertEquals(RentalLedger.OPEN, ledger.endDay(1));
+            assertEquals(11, ledger.carId(1));
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package impdata.carrental;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RentalIntervalIndexTest {
+
+    @Test
+    void reportsRentalsOutInTheRange() {
+        RentalIntervalIndex index = new RentalIntervalIndex();
+        index.open(0, 100);
+        index.close(0, 100, 105);
+        index.open(1, 103);
+        index.open(2, 110);
+        index.close(2, 110, 110);
+
+        assertArrayEquals(new int[] { 0, 1 }, sorted(index.overlapping(104, 104)));
+        assertArrayEquals(new int[] { 1 }, sorted(index.overlapping(105, 109)));
+        assertArrayEquals(new int[] { 1, 2 }, sorted(index.overlapping(110, 110)));
+        assertArrayEquals(new int[0], index.overlapping(90, 99));
+        assertArrayEquals(new int[0], index.overlapping(105, 104));
+    }
+
+    @Test
+    void countsCarsOutPerDay() {
+        RentalIntervalIndex index = new RentalIntervalIndex();
+        index.open(0, 100);
+        index.close(0, 100, 102);
+        index.open(1, 101);
+        index.open(2, 101);
+        index.close(2, 101, 101);
+
+        assertArrayEquals(new int[] { 0, 1, 3, 1, 1 }, index.carsOutPerDay(99, 103));
+        assertArrayEquals(new int[] { 0, 0 }, new RentalIntervalIndex().carsOutPerDay(1, 2));
+    }
+
+    @Test
+    void growsBothWaysWithoutLosingRentals() {
+        RentalIntervalIndex index = new RentalIntervalIndex();
+        index.open(0, 20_000);
+        // Below the first window, then well above it
+        index.open(1, 15_000);
+        index.close(1, 15_000, 15_010);
+        index.open(2, 30_000);
+
+        assertArrayEquals(new int[] { 1 }, index.overlapping(15_005, 15_005));
+        assertArrayEquals(new int[] { 0, 2 }, sorted(index.overlapping(30_000, 40_000)));
+        assertArrayEquals(new int[] { 1, 0, 0 }, index.carsOutPerDay(15_009, 15_011));
+        assertArrayEquals(new int[] { 1, 2 }, index.carsOutPerDay(29_999, 30_000));
+    }
+
+    @Test
+    void refusesSpansItWouldNotAllocate() {
+        RentalIntervalIndex index = new RentalIntervalIndex();
+        index.open(0, 0);
+        assertThrows(IllegalArgumentException.class, () -> index.open(1, 2_000_000));
+        assertThrows(IllegalArgumentException.class, () -> index.open(1, Integer.MIN_VALUE));
+        // The refused rentals left nothing behind
+        index.open(1, 10);
+        assertArrayEquals(new int[] { 0, 1 }, sorted(index.overlapping(0, 20)));
+        assertArrayEquals(new int[] { 1, 2 }, index.carsOutPerDay(9, 10));
+    }
+
+    @Test
+    void matchesAScanOfAllRentals() {
+        Random random = new Random(42);
+        RentalIntervalIndex index = new RentalIntervalIndex();
+        List<int[]> rentals = new ArrayList<>(); // start, end (MAX_VALUE while open)
+        for (int row = 0; row < 2_000; row++) {
+            int start = 5_000 + random.nextInt(3_000);
+            index.open(row, start);
+            rentals.add(new int[] { start, Integer.MAX_VALUE });
+            if (random.nextInt(4) > 0) {
+                int[] rental = rentals.get(random.nextInt(rentals.size()));
+                int closing = rentals.indexOf(rental);
+                if (rental[1] == Integer.MAX_VALUE) {
+                    int end = rental[0] + random.nextInt(30);
+                    index.close(closing, rental[0], end);
+                    rental[1] = Math.max(end, rental[0] + 1);
+                }
+            }
+        }
+
+        for (int query = 0; query < 200; query++) {
+            int from = 4_900 + random.nextInt(3_300);
+            int to = from + random.nextInt(40);
+            List<Integer> expected = new ArrayList<>();
+            for (int row = 0; row < rentals.size(); row++) {
+                int[] rental = rentals.get(row);
+                if (rental[0] <= to && rental[1] > from) expected.add(row);
+            }
+            assertArrayEquals(expected.stream().mapToInt(Integer::intValue).toArray(),
+                    sorted(index.overlapping(from, to)), "overlapping " + from + ".." + to);
+
+            int[] series = index.carsOutPerDay(from, to);
+            for (int day = from; day <= to; day++) {
+                int out = 0;
+                for (int[] rental : rentals) {
+                    if (rental[0] <= day && rental[1] > day) out++;
+                }
+                assertEquals(out, series[day - from], "cars out on " + day);
+            }
+        }
+    }
+
+    private static int[] sorted(int[] rows) {
+        int[] copy = rows.clone();
+        Arrays.sort(copy);
+        return copy;
+    }
+}
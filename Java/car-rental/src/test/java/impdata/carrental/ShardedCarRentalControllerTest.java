@@ -0,0 +1,159 @@
+package impdata.carrental;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShardedCarRentalControllerTest {
+
+    private final CarRentalController east = new CarRentalController();
+    private final CarRentalController west = new CarRentalController();
+    private final ShardedCarRentalController router = new ShardedCarRentalController(shards());
+
+    private Map<String, CarRentalShard> shards() {
+        Map<String, CarRentalShard> shards = new LinkedHashMap<>();
+        shards.put("east", east);
+        shards.put("west", west);
+        return shards;
+    }
+
+    @AfterEach
+    void closeRouter() {
+        router.close();
+    }
+
+    // Smallest car id above after that the given shard owns
+    private int carOn(CarRentalShard shard, int after) {
+        for (int carId = after + 1; ; carId++) {
+            if (router.shardFor(carId) == shard) return carId;
+        }
+    }
+
+    @Test
+    void addsEachCarToTheShardThatOwnsIt() {
+        int eastCar = carOn(east, 0);
+        int westCar = carOn(west, 0);
+        router.addCar(new Car(eastCar, "Corolla", 2020, true));
+        router.addCar(new Car(westCar, "Civic", 2021, true));
+
+        assertNotNull(east.getCarById(eastCar));
+        assertNull(west.getCarById(eastCar));
+        assertNotNull(west.getCarById(westCar));
+        assertEquals(2, router.getAvailableCars().size());
+    }
+
+    @Test
+    void refusesAnOpenRentalIdOnTheSameShard() {
+        int first = carOn(east, 0);
+        int second = carOn(east, first);
+        router.addCar(new Car(first, "Corolla", 2020, true));
+        router.addCar(new Car(second, "Corolla", 2020, true));
+
+        assertTrue(router.tryRent(7, first, 100, "2024-01-01"));
+        assertFalse(router.tryRent(7, second, 100, "2024-01-02"));
+        assertTrue(router.getCarById(second).isAvailable());
+
+        router.returnCar(7, "2024-01-03");
+        assertTrue(router.getCarById(first).isAvailable());
+    }
+
+    @Test
+    void refusesAnOpenRentalIdOnAnotherShard() {
+        int eastCar = carOn(east, 0);
+        int westCar = carOn(west, 0);
+        router.addCar(new Car(eastCar, "Corolla", 2020, true));
+        router.addCar(new Car(westCar, "Civic", 2021, true));
+
+        assertTrue(router.tryRent(7, eastCar, 100, "2024-01-01"));
+        assertFalse(router.tryRent(7, westCar, 100, "2024-01-02"));
+        assertTrue(west.getCarById(westCar).isAvailable());
+        assertTrue(west.getAllRentalRecords().isEmpty());
+
+        router.returnCar(7, "2024-01-03");
+        assertTrue(east.getCarById(eastCar).isAvailable());
+    }
+
+    @Test
+    void refusedRentLeavesTheIdFreeForTheNextRent() {
+        int eastCar = carOn(east, 0);
+        int westCar = carOn(west, 0);
+        router.addCar(new Car(westCar, "Civic", 2021, true));
+
+        // The east car was never added, so its shard refuses
+        assertFalse(router.tryRent(7, eastCar, 100, "2024-01-01"));
+        assertTrue(router.tryRent(7, westCar, 100, "2024-01-01"));
+
+        router.returnCar(7, "2024-01-04");
+        assertTrue(west.getCarById(westCar).isAvailable());
+        assertEquals(150.0, router.getTotalRentalFees());
+    }
+
+    @Test
+    void mergesCustomerAndFleetQueriesAcrossShards() {
+        int eastCar = carOn(east, 0);
+        int westCar = carOn(west, 0);
+        router.addCar(new Car(eastCar, "Corolla", 2020, true));
+        router.addCar(new Car(westCar, "Corolla", 2021, true));
+        router.rentCar(1, eastCar, 100, "2024-01-01");
+        router.rentCar(2, westCar, 100, "2024-01-01");
+        router.returnCar(1, "2024-01-02");
+        router.returnCar(2, "2024-01-03");
+
+        assertEquals(2, router.getRentalsForCustomer(100).size());
+        assertEquals(150.0, router.getTotalFeesForCustomer(100));
+        assertEquals("Corolla", router.getMostPopularModel());
+        assertEquals(2, router.getRentalsBetween("2024-01-01", "2024-01-01").size());
+    }
+
+    @Test
+    void mergesUtilizationOverTheWholeFleet() {
+        int eastCar = carOn(east, 0);
+        int westCar = carOn(west, 0);
+        int spareCar = carOn(west, westCar);
+        router.addCar(new Car(eastCar, "Corolla", 2020, true));
+        router.addCar(new Car(westCar, "Civic", 2021, true));
+        router.addCar(new Car(spareCar, "Golf", 2022, true));
+        router.addCar(new Car(carOn(east, eastCar), "Swift", 2019, true));
+        router.rentCar(1, eastCar, 100, "2024-01-01");
+        router.rentCar(2, westCar, 101, "2024-01-02");
+        router.returnCar(1, "2024-01-03");
+
+        List<DailyUtilization> days = router.getDailyUtilization("2024-01-01", "2024-01-04");
+        assertEquals(4, router.getFleetSize());
+        assertEquals(List.of(
+                new DailyUtilization(LocalDate.of(2024, 1, 1), 1, 0.25),
+                new DailyUtilization(LocalDate.of(2024, 1, 2), 2, 0.5),
+                new DailyUtilization(LocalDate.of(2024, 1, 3), 1, 0.25),
+                new DailyUtilization(LocalDate.of(2024, 1, 4), 1, 0.25)), days);
+    }
+
+    @Test
+    void returnsARentalTheRouterDidNotRent() {
+        int westCar = carOn(west, 0);
+        router.addCar(new Car(westCar, "Civic", 2021, true));
+        // Rented on the shard directly, as before a router restart
+        west.rentCar(5, westCar, 100, "2024-01-01");
+
+        assertTrue(router.isRentalOpen(5));
+        router.returnCar(5, "2024-01-02");
+        assertTrue(west.getCarById(westCar).isAvailable());
+        assertFalse(router.isRentalOpen(5));
+    }
+
+    @Test
+    void returnOfAnUnknownRentalIsNotFound() {
+        router.addCar(new Car(carOn(east, 0), "Corolla", 2020, true));
+
+        ResponseStatusException e = assertThrows(ResponseStatusException.class,
+                () -> router.returnCar(42, "2024-01-02"));
+        assertEquals(HttpStatus.NOT_FOUND, e.getStatusCode());
+    }
+}
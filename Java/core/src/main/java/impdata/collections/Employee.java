@@ -0,0 +1,13 @@
+package impdata.collections;
+
+public class Employee {
+    public int empId;
+    public String empName;
+
+    public Employee(int id, String name) {
+        this.empId = id;
+        this.empName = name;
+    }
+
+    public Employee() {}
+}
@@ -0,0 +1,343 @@
+package impdata.collections;
+
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+// Array-backed generic list: amortized O(1) add with 1.5x growth, bulk addAll/removeIf,
+// and a splitting spliterator so parallel streams divide the backing array evenly.
+// FAIL_FAST iteration throws ConcurrentModificationException like ArrayList; SNAPSHOT
+// iteration sees the list as it was when iteration started: the next change copies the array
+// while a snapshot is still reading it. A snapshot read to the end stops counting, so only one
+// abandoned midway costs a copy, and only once.
+public class GenericList<T> extends AbstractList<T> implements RandomAccess {
+
+    public enum IterationMode { FAIL_FAST, SNAPSHOT }
+
+    private static final int DEFAULT_CAPACITY = 10;
+    private static final Object[] EMPTY = {};
+
+    private final IterationMode mode;
+    private Object[] elements = EMPTY;
+    private int size;
+
+    // Snapshot iterators and spliterators over the current array not yet read to the end
+    private int snapshotReaders;
+
+    public GenericList() {
+        this(IterationMode.FAIL_FAST);
+    }
+
+    public GenericList(IterationMode mode) {
+        this.mode = mode;
+    }
+
+    public IterationMode getIterationMode() { return mode; }
+
+    @Override
+    public int size() { return size; }
+
+    @Override
+    public T get(int index) {
+        Objects.checkIndex(index, size);
+        return elementAt(elements, index);
+    }
+
+    @Override
+    public T set(int index, T element) {
+        Objects.checkIndex(index, size);
+        // Not a structural change: like ArrayList, set() during iteration is allowed
+        ensureWritable(size);
+        T previous = elementAt(elements, index);
+        elements[index] = element;
+        return previous;
+    }
+
+    @Override
+    public boolean add(T element) {
+        prepareWrite(size + 1);
+        elements[size++] = element;
+        return true;
+    }
+
+    @Override
+    public void add(int index, T element) {
+        Objects.checkIndex(index, size + 1);
+        prepareWrite(size + 1);
+        System.arraycopy(elements, index, elements, index + 1, size - index);
+        elements[index] = element;
+        size++;
+    }
+
+    @Override
+    public T remove(int index) {
+        Objects.checkIndex(index, size);
+        prepareWrite(size);
+        T previous = elementAt(elements, index);
+        System.arraycopy(elements, index + 1, elements, index, size - index - 1);
+        elements[--size] = null;
+        return previous;
+    }
+
+    // By index rather than through iterator().remove(), which snapshot iterators don't support
+    @Override
+    public boolean remove(Object element) {
+        int index = indexOf(element);
+        if (index < 0) return false;
+        remove(index);
+        return true;
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> other) {
+        Objects.requireNonNull(other);
+        return removeIf(other::contains);
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> other) {
+        Objects.requireNonNull(other);
+        return removeIf(element -> !other.contains(element));
+    }
+
+    // One capacity check and one array copy for the whole collection
+    @Override
+    public boolean addAll(Collection<? extends T> source) {
+        Object[] added = source.toArray();
+        if (added.length == 0) return false;
+        prepareWrite(size + added.length);
+        System.arraycopy(added, 0, elements, size, added.length);
+        size += added.length;
+        return true;
+    }
+
+    // Marks the matches first and then compacts in a single pass, so a predicate that throws
+    // leaves the list untouched (as in ArrayList)
+    @Override
+    public boolean removeIf(Predicate<? super T> filter) {
+        Objects.requireNonNull(filter);
+        int expectedModCount = modCount;
+        BitSet removed = new BitSet();
+        for (int i = 0; i < size; i++) {
+            if (filter.test(elementAt(elements, i))) removed.set(i);
+        }
+        if (modCount != expectedModCount) throw new ConcurrentModificationException();
+        if (removed.isEmpty()) return false;
+
+        prepareWrite(size);
+        int kept = removed.nextSetBit(0);
+        for (int i = removed.nextClearBit(kept); i < size; i = removed.nextClearBit(i + 1)) {
+            elements[kept++] = elements[i];
+        }
+        Arrays.fill(elements, kept, size, null);
+        size = kept;
+        return true;
+    }
+
+    @Override
+    public void clear() {
+        modCount++;
+        if (snapshotReaders > 0) {
+            elements = EMPTY;
+            snapshotReaders = 0;
+        } else {
+            Arrays.fill(elements, 0, size, null);
+        }
+        size = 0;
+    }
+
+    @Override
+    public void forEach(Consumer<? super T> action) {
+        Objects.requireNonNull(action);
+        int expectedModCount = modCount;
+        Object[] array = elements;
+        int length = size;
+        for (int i = 0; i < length && modCount == expectedModCount; i++) {
+            action.accept(elementAt(array, i));
+        }
+        if (modCount != expectedModCount) throw new ConcurrentModificationException();
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        if (mode == IterationMode.SNAPSHOT) return new SnapshotIterator();
+        return new FailFastIterator();
+    }
+
+    @Override
+    public Spliterator<T> spliterator() {
+        if (mode == IterationMode.SNAPSHOT) return new ArraySpliterator(elements, 0, size, -1);
+        return new ArraySpliterator(elements, 0, size, modCount);
+    }
+
+    // Every structural change goes through here: bumps modCount, copies the array if a snapshot is
+    // still reading it, and grows it by half when full
+    private void prepareWrite(int minCapacity) {
+        modCount++;
+        ensureWritable(minCapacity);
+    }
+
+    // Grows the array to minCapacity, or copies it if a snapshot is still reading it
+    private void ensureWritable(int minCapacity) {
+        int capacity = elements.length;
+        if (minCapacity > capacity) {
+            int grown = capacity == 0 ? DEFAULT_CAPACITY : capacity + (capacity >> 1);
+            elements = Arrays.copyOf(elements, Math.max(grown, minCapacity));
+            snapshotReaders = 0;
+        } else if (snapshotReaders > 0) {
+            elements = Arrays.copyOf(elements, capacity);
+            snapshotReaders = 0;
+        }
+    }
+
+    // A snapshot over array has been read to the end; one over an array already replaced
+    // no longer matters
+    private void releaseSnapshot(Object[] array) {
+        if (array == elements && snapshotReaders > 0) snapshotReaders--;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <E> E elementAt(Object[] array, int index) {
+        return (E) array[index];
+    }
+
+    private final class FailFastIterator implements Iterator<T> {
+        private int cursor;
+        private int lastReturned = -1;
+        private int expectedModCount = modCount;
+
+        @Override
+        public boolean hasNext() {
+            return cursor < size;
+        }
+
+        @Override
+        public T next() {
+            checkForComodification();
+            if (cursor >= size) throw new NoSuchElementException();
+            lastReturned = cursor;
+            return elementAt(elements, cursor++);
+        }
+
+        @Override
+        public void remove() {
+            if (lastReturned < 0) throw new IllegalStateException();
+            checkForComodification();
+            GenericList.this.remove(lastReturned);
+            cursor = lastReturned;
+            lastReturned = -1;
+            expectedModCount = modCount;
+        }
+
+        private void checkForComodification() {
+            if (modCount != expectedModCount) throw new ConcurrentModificationException();
+        }
+    }
+
+    // Reads the array and size as they were when it was created; remove() is unsupported, as in
+    // CopyOnWriteArrayList
+    private final class SnapshotIterator implements Iterator<T> {
+        private final Object[] array = elements;
+        private final int length = size;
+        private int cursor;
+        private boolean released;
+
+        SnapshotIterator() {
+            snapshotReaders++;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (cursor < length) return true;
+            release();
+            return false;
+        }
+
+        @Override
+        public T next() {
+            if (cursor >= length) throw new NoSuchElementException();
+            T element = elementAt(array, cursor++);
+            if (cursor == length) release();
+            return element;
+        }
+
+        private void release() {
+            if (released) return;
+            released = true;
+            releaseSnapshot(array);
+        }
+    }
+
+    // Splits its [origin, fence) range in halves; an expectedModCount of -1 means snapshot mode,
+    // where each piece counts as a snapshot reader until it is read to the end
+    private final class ArraySpliterator implements Spliterator<T> {
+        private final Object[] array;
+        private int origin;
+        private final int fence;
+        private final int expectedModCount;
+        private boolean released;
+
+        ArraySpliterator(Object[] array, int origin, int fence, int expectedModCount) {
+            this.array = array;
+            this.origin = origin;
+            this.fence = fence;
+            this.expectedModCount = expectedModCount;
+            if (expectedModCount < 0) snapshotReaders++;
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            int mid = (origin + fence) >>> 1;
+            if (mid <= origin) return null;
+            Spliterator<T> prefix = new ArraySpliterator(array, origin, mid, expectedModCount);
+            origin = mid;
+            return prefix;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            Objects.requireNonNull(action);
+            if (origin >= fence) {
+                release();
+                return false;
+            }
+            action.accept(elementAt(array, origin++));
+            checkForComodification();
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super T> action) {
+            Objects.requireNonNull(action);
+            for (int i = origin; i < fence; i++) {
+                action.accept(elementAt(array, i));
+            }
+            origin = fence;
+            release();
+            checkForComodification();
+        }
+
+        @Override
+        public long estimateSize() {
+            return fence - origin;
+        }
+
+        @Override
+        public int characteristics() {
+            int characteristics = ORDERED | SIZED | SUBSIZED;
+            return expectedModCount < 0 ? characteristics | IMMUTABLE : characteristics;
+        }
+
+        private void release() {
+            if (expectedModCount >= 0 || released) return;
+            released = true;
+            releaseSnapshot(array);
+        }
+
+        private void checkForComodification() {
+            if (expectedModCount >= 0 && modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+    }
+}
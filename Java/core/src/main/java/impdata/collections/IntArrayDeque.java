@@ -0,0 +1,113 @@
+package impdata.collections;
+
+import java.util.*;
+import java.util.function.IntConsumer;
+
+// Growable int deque over a circular int[]: O(1) add/poll at both ends, O(1) indexed get,
+// and a cursor that can insert in place like LinkedList's ListIterator. Not thread-safe.
+public class IntArrayDeque {
+    private int[] elements;
+    private int head;
+    private int size;
+
+    public IntArrayDeque() {
+        this(16);
+    }
+
+    public IntArrayDeque(int initialCapacity) {
+        elements = new int[Integer.highestOneBit(Math.max(2, initialCapacity) - 1) << 1];
+    }
+
+    public int size() { return size; }
+    public boolean isEmpty() { return size == 0; }
+
+    public void addFirst(int value) {
+        ensureCapacity();
+        head = (head - 1) & (elements.length - 1);
+        elements[head] = value;
+        size++;
+    }
+
+    public void addLast(int value) {
+        ensureCapacity();
+        elements[(head + size) & (elements.length - 1)] = value;
+        size++;
+    }
+
+    public int pollFirst() {
+        if (size == 0) throw new NoSuchElementException();
+        int value = elements[head];
+        head = (head + 1) & (elements.length - 1);
+        size--;
+        return value;
+    }
+
+    public int pollLast() {
+        if (size == 0) throw new NoSuchElementException();
+        size--;
+        return elements[(head + size) & (elements.length - 1)];
+    }
+
+    public int get(int index) {
+        Objects.checkIndex(index, size);
+        return elements[(head + index) & (elements.length - 1)];
+    }
+
+    // Inserts at index, shifting whichever side of the deque is shorter
+    public void add(int index, int value) {
+        Objects.checkIndex(index, size + 1);
+        if (index == 0) { addFirst(value); return; }
+        if (index == size) { addLast(value); return; }
+        ensureCapacity();
+        int mask = elements.length - 1;
+        if (index < size / 2) {
+            head = (head - 1) & mask;
+            for (int i = 0; i < index; i++) {
+                elements[(head + i) & mask] = elements[(head + i + 1) & mask];
+            }
+        } else {
+            for (int i = size; i > index; i--) {
+                elements[(head + i) & mask] = elements[(head + i - 1) & mask];
+            }
+        }
+        elements[(head + index) & mask] = value;
+        size++;
+    }
+
+    public void forEach(IntConsumer action) {
+        int mask = elements.length - 1;
+        for (int i = 0; i < size; i++) {
+            action.accept(elements[(head + i) & mask]);
+        }
+    }
+
+    public Cursor listIterator() {
+        return new Cursor();
+    }
+
+    private void ensureCapacity() {
+        if (size < elements.length) return;
+        int[] grown = new int[elements.length << 1];
+        int firstPart = Math.min(size, elements.length - head);
+        System.arraycopy(elements, head, grown, 0, firstPart);
+        System.arraycopy(elements, 0, grown, firstPart, size - firstPart);
+        elements = grown;
+        head = 0;
+    }
+
+    // ListIterator-style cursor: add() inserts after the last returned element
+    public final class Cursor {
+        private int next;
+
+        public boolean hasNext() { return next < size; }
+
+        public int nextInt() {
+            if (next >= size) throw new NoSuchElementException();
+            return get(next++);
+        }
+
+        public void add(int value) {
+            IntArrayDeque.this.add(next++, value);
+        }
+    }
+}
@@ -0,0 +1,5 @@
+package impdata.collections;
+
+public interface IntObjectConsumer<V> {
+    void accept(int key, V value);
+}
@@ -0,0 +1,81 @@
+package impdata.collections;
+
+import java.util.*;
+
+// int -> V map kept as two sorted parallel arrays: binary-search lookups, ascending iteration,
+// 4 bytes of key plus one reference per entry. Appending ascending keys is O(1); inserting in
+// the middle shifts the tail, so it suits read-mostly or mostly-ordered data. Not thread-safe.
+public class IntSortedMap<V> {
+    private int[] keys = new int[8];
+    private Object[] values = new Object[8];
+    private int size;
+
+    public int size() { return size; }
+    public boolean isEmpty() { return size == 0; }
+
+    @SuppressWarnings("unchecked")
+    public V get(int key) {
+        int index = indexOf(key);
+        return index >= 0 ? (V) values[index] : null;
+    }
+
+    public boolean containsKey(int key) {
+        return indexOf(key) >= 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    public V put(int key, V value) {
+        int index = indexOf(key);
+        if (index >= 0) {
+            V previous = (V) values[index];
+            values[index] = value;
+            return previous;
+        }
+        int insertAt = -(index + 1);
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size << 1);
+            values = Arrays.copyOf(values, size << 1);
+        }
+        System.arraycopy(keys, insertAt, keys, insertAt + 1, size - insertAt);
+        System.arraycopy(values, insertAt, values, insertAt + 1, size - insertAt);
+        keys[insertAt] = key;
+        values[insertAt] = value;
+        size++;
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    public V remove(int key) {
+        int index = indexOf(key);
+        if (index < 0) return null;
+        V previous = (V) values[index];
+        System.arraycopy(keys, index + 1, keys, index, size - index - 1);
+        System.arraycopy(values, index + 1, values, index, size - index - 1);
+        values[--size] = null;
+        return previous;
+    }
+
+    public int firstKey() {
+        if (size == 0) throw new NoSuchElementException();
+        return keys[0];
+    }
+
+    public int lastKey() {
+        if (size == 0) throw new NoSuchElementException();
+        return keys[size - 1];
+    }
+
+    // Ascending key order, like TreeMap's
+    @SuppressWarnings("unchecked")
+    public void forEach(IntObjectConsumer<? super V> action) {
+        for (int i = 0; i < size; i++) {
+            action.accept(keys[i], (V) values[i]);
+        }
+    }
+
+    private int indexOf(int key) {
+        // Fast path for ascending appends
+        if (size > 0 && key > keys[size - 1]) return -(size + 1);
+        return Arrays.binarySearch(keys, 0, size, key);
+    }
+}
@@ -0,0 +1,101 @@
+package impdata.collections;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Bounded multi-producer multi-consumer queue over a ring of slots (Vyukov's bounded queue, as in
+// AsyncLogger but with any number of consumers). Producers and consumers each claim a position with
+// one CAS on their own counter and then only touch the claimed slot; the two counters sit on
+// separate cache lines so offers don't invalidate the line polls spin on. Nothing is allocated per
+// element and no lock is taken: offer fails on a full queue, poll returns null on an empty one.
+// A slot claimed by a thread that hasn't finished with it yet is waited out (spin, then yield)
+// rather than reported as full or empty.
+public class MpmcArrayQueue<E> {
+
+    private final int mask;
+    private final Object[] elements;
+    // Slot i is free for the producer at position p when sequences[i] == p, and holds the element
+    // for the consumer at position p when sequences[i] == p + 1
+    private final AtomicLongArray sequences;
+    private final PaddedAtomicLong tail = new PaddedAtomicLong();
+    private final PaddedAtomicLong head = new PaddedAtomicLong();
+
+    public MpmcArrayQueue(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity) - 1) << 1;
+        this.mask = size - 1;
+        this.elements = new Object[size];
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    public int capacity() { return mask + 1; }
+
+    // False if the queue is full
+    public boolean offer(E element) {
+        if (element == null) throw new NullPointerException();
+        long position = tail.get();
+        int spins = 0;
+        while (true) {
+            int slot = (int) position & mask;
+            long available = sequences.getAcquire(slot) - position;
+            if (available == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    elements[slot] = element;
+                    sequences.setRelease(slot, position + 1);
+                    return true;
+                }
+            } else if (available < 0) {
+                // Full, unless a consumer has claimed this slot and not yet emptied it
+                if (position - head.get() >= capacity()) return false;
+                spins = backOff(spins);
+            }
+            position = tail.get();
+        }
+    }
+
+    // Null if the queue is empty
+    @SuppressWarnings("unchecked")
+    public E poll() {
+        long position = head.get();
+        int spins = 0;
+        while (true) {
+            int slot = (int) position & mask;
+            long available = sequences.getAcquire(slot) - (position + 1);
+            if (available == 0) {
+                if (head.compareAndSet(position, position + 1)) {
+                    E element = (E) elements[slot];
+                    elements[slot] = null;
+                    sequences.setRelease(slot, position + mask + 1);
+                    return element;
+                }
+            } else if (available < 0) {
+                // Empty, unless a producer has claimed this slot and not yet filled it
+                if (tail.get() <= position) return null;
+                spins = backOff(spins);
+            }
+            position = head.get();
+        }
+    }
+
+    // A snapshot that may already be stale when it returns
+    public int size() {
+        while (true) {
+            long before = head.get();
+            long size = tail.get() - before;
+            if (head.get() == before) return (int) Math.max(0, Math.min(size, capacity()));
+        }
+    }
+
+    public boolean isEmpty() { return size() == 0; }
+
+    // The thread we wait for may be descheduled; after a short spin give it the CPU
+    private static int backOff(int spins) {
+        if (spins < 64) {
+            Thread.onSpinWait();
+        } else {
+            Thread.yield();
+        }
+        return spins + 1;
+    }
+}
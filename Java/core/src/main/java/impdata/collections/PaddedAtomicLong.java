@@ -0,0 +1,36 @@
+package impdata.collections;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+// Superclass fields are laid out before subclass fields, so the value sits between two runs of
+// 64 bytes of padding and never shares a cache line with another hot field.
+abstract class PaddedAtomicLongLeft {
+    long p01, p02, p03, p04, p05, p06, p07, p08;
+}
+
+abstract class PaddedAtomicLongValue extends PaddedAtomicLongLeft {
+    volatile long value;
+}
+
+// An AtomicLong alone on its cache line, for counters that different threads hammer side by side
+// (a queue's head and tail)
+final class PaddedAtomicLong extends PaddedAtomicLongValue {
+    long p11, p12, p13, p14, p15, p16, p17, p18;
+
+    private static final VarHandle VALUE;
+
+    static {
+        try {
+            VALUE = MethodHandles.lookup().findVarHandle(PaddedAtomicLongValue.class, "value", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    long get() { return value; }
+
+    boolean compareAndSet(long expected, long updated) {
+        return VALUE.compareAndSet(this, expected, updated);
+    }
+}
@@ -0,0 +1,33 @@
+package impdata.collections;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+// Same layout trick as PaddedAtomicLong, for a reference
+abstract class PaddedAtomicReferenceLeft {
+    long p01, p02, p03, p04, p05, p06, p07, p08;
+}
+
+abstract class PaddedAtomicReferenceValue<V> extends PaddedAtomicReferenceLeft {
+    volatile V value;
+}
+
+final class PaddedAtomicReference<V> extends PaddedAtomicReferenceValue<V> {
+    long p11, p12, p13, p14, p15, p16, p17, p18;
+
+    private static final VarHandle VALUE;
+
+    static {
+        try {
+            VALUE = MethodHandles.lookup().findVarHandle(PaddedAtomicReferenceValue.class, "value", Object.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    V get() { return value; }
+
+    boolean compareAndSet(V expected, V updated) {
+        return VALUE.compareAndSet(this, expected, updated);
+    }
+}
@@ -0,0 +1,222 @@
+package impdata.collections;
+
+import java.util.*;
+import java.util.function.Supplier;
+
+public class PrimitiveCollectionsTesting {
+
+    // Entries per structure in the throughput and footprint comparison
+    private static final int ENTRY_COUNT = 1_000_000;
+
+    // Timed rounds per variant (the first rounds double as JIT warm-up)
+    private static final int ROUNDS = 5;
+
+    private static volatile long sink;
+
+    public static void main(String[] args) {
+
+        // #region Same behaviour as CollectionsAndGenericTesting
+
+        // Dictionary equivalent: IntObjectHashMap instead of HashMap<Integer, Employee>
+        IntObjectHashMap<Employee> dct = new IntObjectHashMap<>();
+        dct.put(1, new Employee(101, "Name1"));
+        dct.put(3, new Employee(103, "Name3"));
+        dct.put(2, new Employee(102, "Name2"));
+        dct.put(4, new Employee(104, "Name4"));
+        System.out.println("DictionaryData :: " + dct.get(3).empId);
+        dct.forEach((key, value) -> System.out.println("DictionaryData :: " + key + " " + value.empId));
+
+        // SortedList equivalent: IntSortedMap instead of TreeMap<Integer, Employee>
+        IntSortedMap<Employee> sortedList = new IntSortedMap<>();
+        sortedList.put(1, new Employee(101, "Name1"));
+        sortedList.put(3, new Employee(103, "Name3"));
+        sortedList.put(2, new Employee(102, "Name2"));
+        sortedList.put(4, new Employee(104, "Name4"));
+        System.out.println("SortedListData :: " + sortedList.get(3).empId);
+        sortedList.forEach((key, value) -> System.out.println("SortedListData :: " + key + " " + value.empId));
+
+        // LinkedList equivalent: IntArrayDeque instead of LinkedList<Integer>
+        IntArrayDeque linkedList = new IntArrayDeque();
+        linkedList.addLast(100);
+        linkedList.addLast(20);
+        linkedList.addFirst(5);
+        System.out.println("LinkedListData :: " + linkedList.get(2));
+        System.out.println("LinkedList after adding 5, 10, 20:");
+        linkedList.forEach(number -> System.out.println("LinkedListData :: " + number));
+
+        IntArrayDeque.Cursor itr = linkedList.listIterator();
+        while (itr.hasNext()) {
+            if (itr.nextInt() == 100) {
+                itr.add(101);
+                break;
+            }
+        }
+
+        System.out.println("LinkedList After inserting 101 after 100:");
+        linkedList.forEach(number -> System.out.println("LinkedListData :: " + number));
+
+        // #endregion
+
+        System.out.println("*** Throughput (" + ENTRY_COUNT + " entries) ***");
+        int[] keys = shuffledKeys(ENTRY_COUNT);
+        Employee value = new Employee(101, "Name1");
+        for (int round = 1; round <= ROUNDS; round++) {
+            System.out.println("Round " + round);
+            report("HashMap<Integer,V>   put+get", () -> {
+                Map<Integer, Employee> map = new HashMap<>();
+                for (int key : keys) map.put(key, value);
+                long hits = 0;
+                for (int key : keys) if (map.get(key) != null) hits++;
+                return hits;
+            });
+            report("IntObjectHashMap     put+get", () -> {
+                IntObjectHashMap<Employee> map = new IntObjectHashMap<>();
+                for (int key : keys) map.put(key, value);
+                long hits = 0;
+                for (int key : keys) if (map.get(key) != null) hits++;
+                return hits;
+            });
+            report("TreeMap<Integer,V>   put+get", () -> {
+                Map<Integer, Employee> map = new TreeMap<>();
+                for (int key = 0; key < keys.length; key++) map.put(key, value);
+                long hits = 0;
+                for (int key : keys) if (map.get(key) != null) hits++;
+                return hits;
+            });
+            report("IntSortedMap         put+get", () -> {
+                IntSortedMap<Employee> map = new IntSortedMap<>();
+                for (int key = 0; key < keys.length; key++) map.put(key, value);
+                long hits = 0;
+                for (int key : keys) if (map.get(key) != null) hits++;
+                return hits;
+            });
+            report("LinkedList<Integer>  add+sum", () -> {
+                LinkedList<Integer> list = new LinkedList<>();
+                for (int key : keys) list.addLast(key);
+                long sum = 0;
+                for (int number : list) sum += number;
+                return sum;
+            });
+            report("IntArrayDeque        add+sum", () -> {
+                IntArrayDeque list = new IntArrayDeque();
+                for (int key : keys) list.addLast(key);
+                long[] sum = new long[1];
+                list.forEach(number -> sum[0] += number);
+                return sum[0];
+            });
+        }
+
+        System.out.println("*** Footprint per entry (" + ENTRY_COUNT + " entries) ***");
+        footprint("HashMap<Integer,V>", () -> {
+            Map<Integer, Employee> map = new HashMap<>();
+            for (int key : keys) map.put(key, value);
+            return map;
+        });
+        footprint("IntObjectHashMap", () -> {
+            IntObjectHashMap<Employee> map = new IntObjectHashMap<>();
+            for (int key : keys) map.put(key, value);
+            return map;
+        });
+        footprint("TreeMap<Integer,V>", () -> {
+            Map<Integer, Employee> map = new TreeMap<>();
+            for (int key : keys) map.put(key, value);
+            return map;
+        });
+        footprint("IntSortedMap", () -> {
+            IntSortedMap<Employee> map = new IntSortedMap<>();
+            for (int key = 0; key < keys.length; key++) map.put(key, value);
+            return map;
+        });
+        footprint("LinkedList<Integer>", () -> {
+            LinkedList<Integer> list = new LinkedList<>();
+            for (int key : keys) list.addLast(key);
+            return list;
+        });
+        footprint("IntArrayDeque", () -> {
+            IntArrayDeque list = new IntArrayDeque();
+            for (int key : keys) list.addLast(key);
+            return list;
+        });
+
+        System.out.println("Successfully completed !");
+    }
+
+    private static void report(String label, java.util.function.LongSupplier work) {
+        long start = System.nanoTime();
+        sink += work.getAsLong();
+        System.out.println("  " + label + " :: " + (System.nanoTime() - start) / 1_000_000 + " ms");
+    }
+
+    // Retained heap of the structure, estimated from used heap after full GCs
+    private static void footprint(String label, Supplier<Object> build) {
+        long before = usedHeap();
+        Object structure = build.get();
+        long after = usedHeap();
+        sink += structure.hashCode();
+        System.out.printf("  %-20s :: %5.1f bytes/entry%n", label, (double) (after - before) / ENTRY_COUNT);
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    // Keys outside the Integer cache, in random order
+    private static int[] shuffledKeys(int count) {
+        int[] keys = new int[count];
+        for (int i = 0; i < count; i++) {
+            keys[i] = i + 1_000;
+        }
+        Random rand = new Random(42);
+        for (int i = count - 1; i > 0; i--) {
+            int j = rand.nextInt(i + 1);
+            int temp = keys[i];
+            keys[i] = keys[j];
+            keys[j] = temp;
+        }
+        return keys;
+    }
+}
+
+/*
+DictionaryData :: 103
+DictionaryData :: 3 103
+DictionaryData :: 1 101
+DictionaryData :: 4 104
+DictionaryData :: 2 102
+SortedListData :: 103
+SortedListData :: 1 101
+SortedListData :: 2 102
+SortedListData :: 3 103
+SortedListData :: 4 104
+LinkedListData :: 20
+LinkedList after adding 5, 10, 20:
+LinkedListData :: 5
+LinkedListData :: 100
+LinkedListData :: 20
+LinkedList After inserting 101 after 100:
+LinkedListData :: 5
+LinkedListData :: 100
+LinkedListData :: 101
+LinkedListData :: 20
+*** Throughput (1000000 entries) ***
+...
+Round 5
+  HashMap<Integer,V>   put+get :: 289 ms
+  IntObjectHashMap     put+get :: 68 ms
+  TreeMap<Integer,V>   put+get :: 1287 ms
+  IntSortedMap         put+get :: 220 ms
+  LinkedList<Integer>  add+sum :: 28 ms
+  IntArrayDeque        add+sum :: 3 ms
+*** Footprint per entry (1000000 entries) ***
+  HashMap<Integer,V>   ::  56.4 bytes/entry
+  IntObjectHashMap     ::  16.8 bytes/entry
+  TreeMap<Integer,V>   ::  56.0 bytes/entry
+  IntSortedMap         ::   8.4 bytes/entry
+  LinkedList<Integer>  ::  40.0 bytes/entry
+  IntArrayDeque        ::   4.2 bytes/entry
+Successfully completed !
+*/
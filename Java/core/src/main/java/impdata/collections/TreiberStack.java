@@ -0,0 +1,43 @@
+package impdata.collections;
+
+// Lock-free LIFO stack (Treiber): push and pop swing the top pointer with one CAS and retry if
+// another thread got there first. Unlike java.util.Stack nobody waits on a monitor, and a thread
+// descheduled mid-operation cannot hold up the rest. The top pointer has a cache line to itself.
+// ABA is not a concern because a node is never reused while any thread still references it.
+public class TreiberStack<E> {
+
+    private static final class Node<E> {
+        final E item;
+        Node<E> next;
+
+        Node(E item) {
+            this.item = item;
+        }
+    }
+
+    private final PaddedAtomicReference<Node<E>> top = new PaddedAtomicReference<>();
+
+    public void push(E item) {
+        if (item == null) throw new NullPointerException();
+        Node<E> node = new Node<>(item);
+        do {
+            node.next = top.get();
+        } while (!top.compareAndSet(node.next, node));
+    }
+
+    // Null if the stack is empty
+    public E pop() {
+        while (true) {
+            Node<E> current = top.get();
+            if (current == null) return null;
+            if (top.compareAndSet(current, current.next)) return current.item;
+        }
+    }
+
+    public E peek() {
+        Node<E> current = top.get();
+        return current == null ? null : current.item;
+    }
+
+    public boolean isEmpty() { return top.get() == null; }
+}
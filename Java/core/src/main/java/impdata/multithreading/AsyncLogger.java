@@ -0,0 +1,182 @@
+package impdata.multithreading;
+
+import java.io.PrintStream;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+// "[HH:mm:ss.SSS] message" lines written by one background thread. Callers only claim a slot in a
+// bounded ring buffer with a CAS and store the message and its timestamp, so worker threads no
+// longer serialize on System.out's lock; the writer formats with one shared formatter and prints
+// whole batches at once.
+//
+// When the ring is full, DROP discards the message (and reports how many were lost), BLOCK makes
+// the caller wait for space. The shared instance is configured with -Dimpdata.log.capacity and
+// -Dimpdata.log.policy=DROP|BLOCK and flushed by a shutdown hook.
+public class AsyncLogger implements AutoCloseable {
+
+    public enum OverflowPolicy { DROP, BLOCK }
+
+    private static final DateTimeFormatter TIME = DateTimeFormatter.ofPattern("HH:mm:ss.SSS")
+            .withZone(ZoneId.systemDefault());
+    private static final long IDLE_PARK_NANOS = 1_000_000;
+
+    private static final AsyncLogger SHARED = createShared();
+
+    private final PrintStream out;
+    private final OverflowPolicy policy;
+    private final int mask;
+    private final String[] messages;
+    private final long[] times;
+    // Slot i is free for the producer at position p when sequences[i] == p, and holds the message
+    // for position p when sequences[i] == p + 1 (Vyukov's bounded queue, single consumer)
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final Thread writer;
+
+    // Written only by the writer thread; read by flush()
+    private volatile long head;
+    private volatile boolean closed;
+
+    public AsyncLogger(PrintStream out, int capacity, OverflowPolicy policy) {
+        if (Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a power of two: " + capacity);
+        }
+        this.out = out;
+        this.policy = policy;
+        this.mask = capacity - 1;
+        this.messages = new String[capacity];
+        this.times = new long[capacity];
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+        this.writer = new Thread(this::drainLoop, "async-logger");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    // Logs through the shared instance
+    public static void log(String message) {
+        SHARED.append(message);
+    }
+
+    public static AsyncLogger shared() {
+        return SHARED;
+    }
+
+    // False if the message was dropped because the ring was full (DROP policy) or the logger closed
+    public boolean append(String message) {
+        long time = System.currentTimeMillis();
+        long position = tail.get();
+        int waits = 0;
+        while (true) {
+            if (closed) return false;
+            int slot = (int) position & mask;
+            long available = sequences.get(slot) - position;
+            if (available == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    messages[slot] = message;
+                    times[slot] = time;
+                    sequences.setRelease(slot, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (available < 0) {
+                // The writer hasn't freed this slot from the previous lap yet: the ring is full
+                if (policy == OverflowPolicy.DROP) {
+                    dropped.incrementAndGet();
+                    return false;
+                }
+                // Give the writer the CPU rather than spinning against it
+                LockSupport.unpark(writer);
+                if (++waits < 16) {
+                    Thread.yield();
+                } else {
+                    LockSupport.parkNanos(10_000);
+                }
+                position = tail.get();
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    public long droppedCount() {
+        return dropped.get();
+    }
+
+    // Waits until every message appended before this call has been written
+    public void flush() {
+        long target = tail.get();
+        while (head < target && writer.isAlive()) {
+            LockSupport.unpark(writer);
+            LockSupport.parkNanos(100_000);
+        }
+    }
+
+    @Override
+    public void close() {
+        flush();
+        closed = true;
+        LockSupport.unpark(writer);
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void drainLoop() {
+        StringBuilder batch = new StringBuilder(8192);
+        StringBuilder stamp = new StringBuilder(12);
+        long stampMillis = Long.MIN_VALUE;
+        long reportedDrops = 0;
+        while (true) {
+            long position = head;
+            int slot = (int) position & mask;
+            while (sequences.get(slot) == position + 1) {
+                // Lines logged within the same millisecond share one formatted timestamp
+                if (times[slot] != stampMillis) {
+                    stampMillis = times[slot];
+                    stamp.setLength(0);
+                    TIME.formatTo(Instant.ofEpochMilli(stampMillis), stamp);
+                }
+                batch.append('[').append(stamp).append("] ").append(messages[slot]).append(System.lineSeparator());
+                messages[slot] = null;
+                sequences.setRelease(slot, position + mask + 1);
+                position++;
+                slot = (int) position & mask;
+                if (batch.length() >= 8192) break;
+            }
+            long drops = dropped.get();
+            if (drops != reportedDrops) {
+                batch.append("[async-logger] dropped ").append(drops - reportedDrops)
+                        .append(" messages (ring full)").append(System.lineSeparator());
+                reportedDrops = drops;
+            }
+            if (batch.length() > 0) {
+                out.print(batch);
+                out.flush();
+                batch.setLength(0);
+                head = position;
+            } else if (closed) {
+                return;
+            } else {
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            }
+        }
+    }
+
+    private static AsyncLogger createShared() {
+        int capacity = Integer.getInteger("impdata.log.capacity", 1 << 14);
+        OverflowPolicy policy = OverflowPolicy.valueOf(System.getProperty("impdata.log.policy", "BLOCK"));
+        AsyncLogger logger = new AsyncLogger(System.out, capacity, policy);
+        Runtime.getRuntime().addShutdownHook(new Thread(logger::flush, "async-logger-flush"));
+        return logger;
+    }
+}
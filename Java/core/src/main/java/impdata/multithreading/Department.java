@@ -0,0 +1,11 @@
+package impdata.multithreading;
+
+public class Department {
+    public int id;
+    public String name;
+
+    public Department(int id, String name) {
+        this.id = id;
+        this.name = name;
+    }
+}
@@ -0,0 +1,13 @@
+package impdata.multithreading;
+
+public class Employee {
+    public int id;
+    public String name;
+    public int departmentId;
+
+    public Employee(int id, String name, int deptId) {
+        this.id = id;
+        this.name = name;
+        this.departmentId = deptId;
+    }
+}
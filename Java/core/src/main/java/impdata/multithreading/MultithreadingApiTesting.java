@@ -1,7 +1,6 @@
-import java.time.LocalTime;
-import java.time.format.DateTimeFormatter;
+package impdata.multithreading;
+
 import java.util.concurrent.*;
-import java.util.*;
 
 public class MultithreadingApiTesting {
 
@@ -55,8 +54,7 @@ public class MultithreadingApiTesting {
 
     // Utility logger with timestamp
     public static void log(String message) {
-        String time = LocalTime.now().format(DateTimeFormatter.ofPattern("HH:mm:ss.SSS"));
-        System.out.println("[" + time + "] " + message);
+        AsyncLogger.log(message);
     }
 }
 
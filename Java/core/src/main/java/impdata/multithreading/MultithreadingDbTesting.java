@@ -1,5 +1,5 @@
-import java.time.LocalTime;
-import java.time.format.DateTimeFormatter;
+package impdata.multithreading;
+
 import java.util.*;
 import java.util.concurrent.*;
 
@@ -59,30 +59,7 @@ public class MultithreadingDbTesting {
     }
 
     public static void log(String message) {
-        String time = LocalTime.now().format(DateTimeFormatter.ofPattern("HH:mm:ss.SSS"));
-        System.out.println("[" + time + "] " + message);
-    }
-}
-
-class Employee {
-    public int id;
-    public String name;
-    public int departmentId;
-
-    public Employee(int id, String name, int deptId) {
-        this.id = id;
-        this.name = name;
-        this.departmentId = deptId;
-    }
-}
-
-class Department {
-    public int id;
-    public String name;
-
-    public Department(int id, String name) {
-        this.id = id;
-        this.name = name;
+        AsyncLogger.log(message);
     }
 }
 
@@ -1,5 +1,5 @@
-import java.time.LocalTime;
-import java.time.format.DateTimeFormatter;
+package impdata.multithreading;
+
 import java.util.*;
 import java.util.concurrent.*;
 
@@ -11,6 +11,12 @@ public class MultithreadingEmployeeBatchSaveSimulation {
     // Number of threads to use (twice the available processors for balanced concurrency)
     private static final int THREAD_COUNT = Runtime.getRuntime().availableProcessors() * 20;
 
+    // Simulated DB latency per batch save
+    private static final long SAVE_DELAY_MS = 100;
+
+    // Batch that fails to demonstrate error handling (-1 for none)
+    private static final int FAILING_BATCH_INDEX = 9;
+
     public static void main(String[] args) {
         log("Starting to fetch Employees...");
 
@@ -37,7 +43,7 @@ public class MultithreadingEmployeeBatchSaveSimulation {
         log("Total Time: " + (endTime - startTime) + " ms");
     }
 
-    private static List<Employee> generateEmployees(int count) {
+    public static List<Employee> generateEmployees(int count) {
         List<Employee> employees = new ArrayList<>(count);
         Random rand = new Random();
         for (int i = 1; i <= count; i++) {
@@ -46,7 +52,12 @@ public class MultithreadingEmployeeBatchSaveSimulation {
         return employees;
     }
 
-    private static List<Callable<Integer>> createBatchSaveTasks(List<Employee> employees, int batchSize) {
+    public static List<Callable<Integer>> createBatchSaveTasks(List<Employee> employees, int batchSize) {
+        return createBatchSaveTasks(employees, batchSize, SAVE_DELAY_MS, FAILING_BATCH_INDEX);
+    }
+
+    public static List<Callable<Integer>> createBatchSaveTasks(List<Employee> employees, int batchSize,
+                                                               long saveDelayMillis, int failingBatchIndex) {
         List<Callable<Integer>> tasks = new ArrayList<>();
 
         for (int i = 0; i < employees.size(); i += batchSize) {
@@ -60,10 +71,12 @@ public class MultithreadingEmployeeBatchSaveSimulation {
                 public Integer call() {
                     try {
                         // Simulate delay for saving batch to DB
-                        Thread.sleep(100);
+                        if (saveDelayMillis > 0) {
+                            Thread.sleep(saveDelayMillis);
+                        }
 
                         // Simulate error in 10th batch (index 9)
-                        if (batchIndex == 9) {
+                        if (batchIndex == failingBatchIndex) {
                             throw new RuntimeException("Simulated error in batch " + batchIndex);
                         }
 
@@ -82,7 +95,7 @@ public class MultithreadingEmployeeBatchSaveSimulation {
         return tasks;
     }
 
-    private static int executeTasksAndSumResults(ExecutorService executor, List<Callable<Integer>> tasks) {
+    public static int executeTasksAndSumResults(ExecutorService executor, List<Callable<Integer>> tasks) {
         int totalSaved = 0;
         try {
             List<Future<Integer>> futures = executor.invokeAll(tasks);
@@ -105,19 +118,6 @@ public class MultithreadingEmployeeBatchSaveSimulation {
     }
 
     private static void log(String message) {
-        String time = LocalTime.now().format(DateTimeFormatter.ofPattern("HH:mm:ss.SSS"));
-        System.out.println("[" + time + "] " + message);
-    }
-}
-
-class Employee {
-    public int id;
-    public String name;
-    public int departmentId;
-
-    public Employee(int id, String name, int deptId) {
-        this.id = id;
-        this.name = name;
-        this.departmentId = deptId;
+        AsyncLogger.log(message);
     }
 }
@@ -0,0 +1,10 @@
+package impdata.streams;
+
+// One aggregate of a MultiAggregator: accumulates elements and merges partial results
+// from other instances of the same type (parallel streams)
+public interface Aggregate<T, R> {
+    Aggregate<T, R> newInstance();
+    void accept(T element);
+    void merge(Aggregate<T, R> other);
+    R result();
+}
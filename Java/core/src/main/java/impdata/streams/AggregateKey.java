@@ -0,0 +1,10 @@
+package impdata.streams;
+
+// Typed handle returned by MultiAggregator.add, used to read that aggregate's result back
+public final class AggregateKey<R> {
+    final int index;
+
+    AggregateKey(int index) {
+        this.index = index;
+    }
+}
@@ -0,0 +1,14 @@
+package impdata.streams;
+
+public final class AggregateResults {
+    private final Object[] values;
+
+    AggregateResults(Object[] values) {
+        this.values = values;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <R> R get(AggregateKey<R> key) {
+        return (R) values[key.index];
+    }
+}
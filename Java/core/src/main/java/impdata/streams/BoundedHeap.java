@@ -0,0 +1,105 @@
+package impdata.streams;
+
+import java.util.*;
+
+// Keeps the k smallest elements seen so far; the root is the largest of them, so most
+// elements of a large input are rejected with a single comparison. Ties are broken on input
+// position, so the result matches a stable sort followed by limit(k): among equal elements the
+// first ones offered win and come out in the order they were offered.
+final class BoundedHeap<T> {
+    private final int k;
+    private final Comparator<? super T> comparator;
+    private final Object[] heap;
+    private final long[] positions;
+    private int size;
+    // Elements offered so far, this heap's and those merged into it
+    private long seen;
+
+    BoundedHeap(int k, Comparator<? super T> comparator) {
+        if (k <= 0) throw new IllegalArgumentException("k must be positive: " + k);
+        this.k = k;
+        this.comparator = comparator;
+        this.heap = new Object[k];
+        this.positions = new long[k];
+    }
+
+    void offer(T element) {
+        insert(element, seen++);
+    }
+
+    // other holds the elements that came after this heap's, as a Collector combiner's right side does
+    BoundedHeap<T> merge(BoundedHeap<T> other) {
+        for (int i = 0; i < other.size; i++) {
+            insert(other.elementAt(i), seen + other.positions[i]);
+        }
+        seen += other.seen;
+        return this;
+    }
+
+    List<T> toSortedList() {
+        Integer[] slots = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            slots[i] = i;
+        }
+        Arrays.sort(slots, (a, b) -> compare(elementAt(a), positions[a], b));
+        List<T> result = new ArrayList<>(size);
+        for (int slot : slots) {
+            result.add(elementAt(slot));
+        }
+        return result;
+    }
+
+    private void insert(T element, long position) {
+        if (size < k) {
+            heap[size] = element;
+            positions[size] = position;
+            siftUp(size++);
+        } else if (compare(element, position, 0) < 0) {
+            heap[0] = element;
+            positions[0] = position;
+            siftDown();
+        }
+    }
+
+    // Orders element, offered at position, against the one in slot
+    private int compare(T element, long position, int slot) {
+        int order = comparator.compare(element, elementAt(slot));
+        return order != 0 ? order : Long.compare(position, positions[slot]);
+    }
+
+    @SuppressWarnings("unchecked")
+    private T elementAt(int i) {
+        return (T) heap[i];
+    }
+
+    private void siftUp(int i) {
+        T value = elementAt(i);
+        long position = positions[i];
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (compare(value, position, parent) <= 0) break;
+            heap[i] = heap[parent];
+            positions[i] = positions[parent];
+            i = parent;
+        }
+        heap[i] = value;
+        positions[i] = position;
+    }
+
+    private void siftDown() {
+        T value = elementAt(0);
+        long position = positions[0];
+        int i = 0;
+        int half = size >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            if (child + 1 < size && compare(elementAt(child + 1), positions[child + 1], child) > 0) child++;
+            if (compare(value, position, child) >= 0) break;
+            heap[i] = heap[child];
+            positions[i] = positions[child];
+            i = child;
+        }
+        heap[i] = value;
+        positions[i] = position;
+    }
+}
@@ -0,0 +1,158 @@
+package impdata.streams;
+
+import java.util.*;
+import java.util.function.ToIntFunction;
+
+// Count, min, max and average of an int value per int key, kept in an open-addressing table
+// so keys like age are never boxed
+public class IntGroupStats<T> implements Aggregate<T, IntGroupStats<T>> {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final ToIntFunction<T> keyFunction;
+    private final ToIntFunction<T> valueFunction;
+
+    private int[] keys;
+    private boolean[] used;
+    private long[] counts;
+    private long[] sums;
+    private int[] mins;
+    private int[] maxs;
+    private int size;
+
+    public IntGroupStats(ToIntFunction<T> keyFunction, ToIntFunction<T> valueFunction) {
+        this.keyFunction = keyFunction;
+        this.valueFunction = valueFunction;
+        allocate(INITIAL_CAPACITY);
+    }
+
+    @Override
+    public Aggregate<T, IntGroupStats<T>> newInstance() {
+        return new IntGroupStats<>(keyFunction, valueFunction);
+    }
+
+    @Override
+    public void accept(T element) {
+        int value = valueFunction.applyAsInt(element);
+        add(keyFunction.applyAsInt(element), 1, value, value, value);
+    }
+
+    @Override
+    public void merge(Aggregate<T, IntGroupStats<T>> other) {
+        IntGroupStats<T> that = (IntGroupStats<T>) other;
+        for (int slot = 0; slot < that.keys.length; slot++) {
+            if (that.used[slot]) {
+                add(that.keys[slot], that.counts[slot], that.sums[slot], that.mins[slot], that.maxs[slot]);
+            }
+        }
+    }
+
+    @Override
+    public IntGroupStats<T> result() {
+        return this;
+    }
+
+    public int size() { return size; }
+
+    // Group keys in ascending order
+    public int[] keys() {
+        int[] result = new int[size];
+        int n = 0;
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (used[slot]) result[n++] = keys[slot];
+        }
+        Arrays.sort(result);
+        return result;
+    }
+
+    public long count(int key) {
+        int slot = find(key);
+        return slot < 0 ? 0 : counts[slot];
+    }
+
+    public int min(int key) {
+        return mins[existing(key)];
+    }
+
+    public int max(int key) {
+        return maxs[existing(key)];
+    }
+
+    public double average(int key) {
+        int slot = existing(key);
+        return (double) sums[slot] / counts[slot];
+    }
+
+    private void add(int key, long count, long sum, int min, int max) {
+        int slot = slotFor(key);
+        if (!used[slot]) {
+            used[slot] = true;
+            keys[slot] = key;
+            mins[slot] = min;
+            maxs[slot] = max;
+            size++;
+        } else {
+            if (min < mins[slot]) mins[slot] = min;
+            if (max > maxs[slot]) maxs[slot] = max;
+        }
+        counts[slot] += count;
+        sums[slot] += sum;
+        if (size * 4 > keys.length * 3) {
+            rehash(keys.length * 2);
+        }
+    }
+
+    private int find(int key) {
+        int slot = slotFor(key);
+        return used[slot] ? slot : -1;
+    }
+
+    private int existing(int key) {
+        int slot = find(key);
+        if (slot < 0) throw new NoSuchElementException("No group for key " + key);
+        return slot;
+    }
+
+    private int slotFor(int key) {
+        int mask = keys.length - 1;
+        int slot = mix(key) & mask;
+        while (used[slot] && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private static int mix(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private void rehash(int capacity) {
+        int[] oldKeys = keys;
+        boolean[] oldUsed = used;
+        long[] oldCounts = counts;
+        long[] oldSums = sums;
+        int[] oldMins = mins;
+        int[] oldMaxs = maxs;
+        allocate(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldUsed[i]) {
+                int slot = slotFor(oldKeys[i]);
+                used[slot] = true;
+                keys[slot] = oldKeys[i];
+                counts[slot] = oldCounts[i];
+                sums[slot] = oldSums[i];
+                mins[slot] = oldMins[i];
+                maxs[slot] = oldMaxs[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        used = new boolean[capacity];
+        counts = new long[capacity];
+        sums = new long[capacity];
+        mins = new int[capacity];
+        maxs = new int[capacity];
+    }
+}
@@ -0,0 +1,57 @@
+package impdata.streams;
+
+import java.util.*;
+import java.util.stream.Collector;
+
+// Composes any number of aggregates into a single Collector so they are all computed in one scan
+public class MultiAggregator<T> {
+    private final List<Aggregate<T, ?>> prototypes = new ArrayList<>();
+
+    public <R> AggregateKey<R> add(Aggregate<T, R> aggregate) {
+        prototypes.add(aggregate);
+        return new AggregateKey<>(prototypes.size() - 1);
+    }
+
+    public Collector<T, ?, AggregateResults> toCollector() {
+        List<Aggregate<T, ?>> snapshot = new ArrayList<>(prototypes);
+        return Collector.of(
+            () -> new Accumulation<>(snapshot),
+            Accumulation::accept,
+            Accumulation::merge,
+            Accumulation::results
+        );
+    }
+
+    private static final class Accumulation<T> {
+        private final Aggregate<T, Object>[] parts;
+
+        @SuppressWarnings("unchecked")
+        Accumulation(List<Aggregate<T, ?>> prototypes) {
+            parts = (Aggregate<T, Object>[]) new Aggregate<?, ?>[prototypes.size()];
+            for (int i = 0; i < parts.length; i++) {
+                parts[i] = (Aggregate<T, Object>) prototypes.get(i).newInstance();
+            }
+        }
+
+        void accept(T element) {
+            for (Aggregate<T, Object> part : parts) {
+                part.accept(element);
+            }
+        }
+
+        Accumulation<T> merge(Accumulation<T> other) {
+            for (int i = 0; i < parts.length; i++) {
+                parts[i].merge(other.parts[i]);
+            }
+            return this;
+        }
+
+        AggregateResults results() {
+            Object[] values = new Object[parts.length];
+            for (int i = 0; i < parts.length; i++) {
+                values[i] = parts[i].result();
+            }
+            return new AggregateResults(values);
+        }
+    }
+}
@@ -0,0 +1,4 @@
+package impdata.streams;
+
+// Generic reference + int pair, for projections that don't warrant their own record
+public record ObjIntTuple<A>(A first, int second) {}
@@ -0,0 +1,25 @@
+package impdata.streams;
+
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+// Reusable, mutable tuple view over the current element. Not thread-safe and must not be
+// retained past the next reset; meant for sequential loops where even a tuple is too much.
+public final class ObjIntView<T, A> {
+    private final Function<? super T, ? extends A> firstFunction;
+    private final ToIntFunction<? super T> secondFunction;
+    private T current;
+
+    public ObjIntView(Function<? super T, ? extends A> firstFunction, ToIntFunction<? super T> secondFunction) {
+        this.firstFunction = firstFunction;
+        this.secondFunction = secondFunction;
+    }
+
+    public ObjIntView<T, A> reset(T element) {
+        this.current = element;
+        return this;
+    }
+
+    public A first() { return firstFunction.apply(current); }
+    public int second() { return secondFunction.applyAsInt(current); }
+}
@@ -0,0 +1,130 @@
+package impdata.streams;
+
+import java.util.*;
+import java.util.function.ToIntFunction;
+import java.util.stream.Collector;
+
+// OrderBy / ThenBy helpers that avoid a full sort when only the first page is consumed,
+// and avoid boxing when the sort key is an int
+public final class Ordering {
+
+    // Below this size the packed-key sort is done on one thread
+    private static final int PARALLEL_THRESHOLD = 1 << 13;
+
+    private Ordering() {}
+
+    // First k elements in comparator order, stable; O(n log k) with a bounded max-heap
+    public static <T> List<T> top(Collection<? extends T> source, int k, Comparator<? super T> comparator) {
+        BoundedHeap<T> heap = new BoundedHeap<>(k, comparator);
+        for (T element : source) {
+            heap.offer(element);
+        }
+        return heap.toSortedList();
+    }
+
+    // Same as top(), as a Collector so parallel streams keep one heap per split and merge them
+    public static <T> Collector<T, ?, List<T>> topK(int k, Comparator<? super T> comparator) {
+        return Collector.of(
+            () -> new BoundedHeap<T>(k, comparator),
+            BoundedHeap::offer,
+            BoundedHeap::merge,
+            BoundedHeap::toSortedList
+        );
+    }
+
+    // Full ordering with Arrays.parallelSort (parallel merge sort, stable)
+    @SuppressWarnings("unchecked")
+    public static <T> List<T> sortedParallel(Collection<? extends T> source, Comparator<? super T> comparator) {
+        T[] elements = (T[]) source.toArray();
+        Arrays.parallelSort(elements, comparator);
+        return Arrays.asList(elements);
+    }
+
+    // Full ordering by an int key without boxing: each element becomes key << 32 | index in a
+    // long[], so the sort compares primitives and ties keep source order (stable)
+    public static <T> List<T> sortedByInt(List<? extends T> source, ToIntFunction<? super T> key) {
+        long[] packed = pack(source, key);
+        if (packed.length >= PARALLEL_THRESHOLD) {
+            Arrays.parallelSort(packed);
+        } else {
+            Arrays.sort(packed);
+        }
+        return unpack(source, packed, packed.length);
+    }
+
+    // First k elements by an int key, stable, using a bounded max-heap of packed longs
+    public static <T> List<T> topByInt(List<? extends T> source, int k, ToIntFunction<? super T> key) {
+        if (k <= 0) throw new IllegalArgumentException("k must be positive: " + k);
+        long[] heap = new long[Math.min(k, source.size())];
+        int size = 0;
+        int index = 0;
+        for (T element : source) {
+            long packedKey = pack(key.applyAsInt(element), index++);
+            if (size < heap.length) {
+                heap[size] = packedKey;
+                siftUp(heap, size++);
+            } else if (packedKey < heap[0]) {
+                heap[0] = packedKey;
+                siftDown(heap, size);
+            }
+        }
+        Arrays.sort(heap, 0, size);
+        return unpack(source, heap, size);
+    }
+
+    private static <T> long[] pack(List<? extends T> source, ToIntFunction<? super T> key) {
+        long[] packed = new long[source.size()];
+        int index = 0;
+        for (T element : source) {
+            packed[index] = pack(key.applyAsInt(element), index);
+            index++;
+        }
+        return packed;
+    }
+
+    private static long pack(int key, int index) {
+        return ((long) key << 32) | (index & 0xFFFFFFFFL);
+    }
+
+    private static <T> List<T> unpack(List<? extends T> source, long[] packed, int length) {
+        List<T> result = new ArrayList<>(length);
+        if (source instanceof RandomAccess) {
+            for (int i = 0; i < length; i++) {
+                result.add(source.get((int) packed[i]));
+            }
+        } else {
+            Object[] elements = source.toArray();
+            for (int i = 0; i < length; i++) {
+                @SuppressWarnings("unchecked")
+                T element = (T) elements[(int) packed[i]];
+                result.add(element);
+            }
+        }
+        return result;
+    }
+
+    private static void siftUp(long[] heap, int i) {
+        long value = heap[i];
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (heap[parent] >= value) break;
+            heap[i] = heap[parent];
+            i = parent;
+        }
+        heap[i] = value;
+    }
+
+    private static void siftDown(long[] heap, int size) {
+        long value = heap[0];
+        int i = 0;
+        int half = size >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            if (child + 1 < size && heap[child + 1] > heap[child]) child++;
+            if (value >= heap[child]) break;
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = value;
+    }
+}
@@ -0,0 +1,42 @@
+package impdata.streams;
+
+import java.util.function.Predicate;
+
+// Number of elements matching a predicate; answers both All and Any from the same scan
+public class PredicateCount<T> implements Aggregate<T, PredicateCount<T>> {
+    private final Predicate<T> predicate;
+    private long matched;
+    private long total;
+
+    public PredicateCount(Predicate<T> predicate) {
+        this.predicate = predicate;
+    }
+
+    @Override
+    public Aggregate<T, PredicateCount<T>> newInstance() {
+        return new PredicateCount<>(predicate);
+    }
+
+    @Override
+    public void accept(T element) {
+        if (predicate.test(element)) matched++;
+        total++;
+    }
+
+    @Override
+    public void merge(Aggregate<T, PredicateCount<T>> other) {
+        PredicateCount<T> that = (PredicateCount<T>) other;
+        matched += that.matched;
+        total += that.total;
+    }
+
+    @Override
+    public PredicateCount<T> result() {
+        return this;
+    }
+
+    public long matched() { return matched; }
+    public long total() { return total; }
+    public boolean allMatch() { return matched == total; }
+    public boolean anyMatch() { return matched > 0; }
+}
@@ -0,0 +1,14 @@
+package impdata.streams;
+
+public class Standard {
+    private int standardID;
+    private String standardName;
+
+    public Standard(int standardID, String standardName) {
+        this.standardID = standardID;
+        this.standardName = standardName;
+    }
+
+    public int getStandardID() { return standardID; }
+    public String getStandardName() { return standardName; }
+}
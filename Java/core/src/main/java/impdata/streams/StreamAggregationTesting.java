@@ -0,0 +1,163 @@
+package impdata.streams;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+public class StreamAggregationTesting {
+
+    // Size of the generated student list used for the multi-pass vs single-pass comparison
+    private static final int STUDENT_COUNT = 1_000_000;
+
+    // Timed rounds per variant (the first rounds double as JIT warm-up)
+    private static final int ROUNDS = 5;
+
+    private static volatile long sink;
+
+    // Group key of students without a standard; outside the range of real standard ids, which
+    // include 0
+    static final int NO_STANDARD = Integer.MIN_VALUE;
+
+    public static void main(String[] args) {
+
+        // Student collection
+        List<Student> studentList = Arrays.asList(
+            new Student(1, "Siva", 18, 1),
+            new Student(2, "Ram", 21, 1),
+            new Student(3, "Venky", 18, 2),
+            new Student(4, "Babu", 20, 2),
+            new Student(5, "Krishna", 21, null)
+        );
+
+        System.out.println("*** Single-pass statistics ***");
+        MultiAggregator<Student> aggregator = new MultiAggregator<>();
+        AggregateKey<IntGroupStats<Student>> byAge =
+            aggregator.add(new IntGroupStats<>(Student::getAge, Student::getAge));
+        AggregateKey<IntGroupStats<Student>> byStandard =
+            aggregator.add(new IntGroupStats<>(StreamAggregationTesting::standardKey, Student::getAge));
+        AggregateKey<PredicateCount<Student>> teenAgers =
+            aggregator.add(new PredicateCount<>(s -> s.getAge() > 12 && s.getAge() < 20));
+        AggregateKey<List<Student>> youngest =
+            aggregator.add(new TopK<>(2, Comparator.comparingInt(Student::getAge)
+                    .thenComparing(Student::getStudentName)));
+
+        AggregateResults results = studentList.stream().collect(aggregator.toCollector());
+
+        IntGroupStats<Student> ageGroups = results.get(byAge);
+        for (int age : ageGroups.keys()) {
+            System.out.println("Age Group: " + age + ", Count: " + ageGroups.count(age));
+        }
+
+        IntGroupStats<Student> standardGroups = results.get(byStandard);
+        for (int standardID : standardGroups.keys()) {
+            System.out.println("Standard: " + (standardID == NO_STANDARD ? "none" : standardID)
+                    + ", Min Age: " + standardGroups.min(standardID)
+                    + ", Max Age: " + standardGroups.max(standardID)
+                    + ", Avg Age: " + standardGroups.average(standardID));
+        }
+
+        PredicateCount<Student> teens = results.get(teenAgers);
+        System.out.println("All teenagers? " + teens.allMatch() + ", Any teenager? " + teens.anyMatch()
+                + " (" + teens.matched() + " of " + teens.total() + ")");
+
+        results.get(youngest).forEach(s -> System.out.println("Youngest: " + s.getStudentName()));
+
+        System.out.println("*** Multi-pass vs single-pass (" + STUDENT_COUNT + " students) ***");
+        List<Student> generated = generateStudents(STUDENT_COUNT);
+        for (int round = 1; round <= ROUNDS; round++) {
+            long multiPass = time(() -> multiPass(generated, false));
+            long singlePass = time(() -> singlePass(generated, false));
+            long multiPassParallel = time(() -> multiPass(generated, true));
+            long singlePassParallel = time(() -> singlePass(generated, true));
+            System.out.println("Round " + round
+                    + " :: multi-pass " + multiPass + " ms, single-pass " + singlePass + " ms"
+                    + " | parallel multi-pass " + multiPassParallel + " ms, single-pass " + singlePassParallel + " ms");
+        }
+
+        System.out.println("Successfully completed !");
+    }
+
+    // Nullable standard mapped onto an int key so grouping stays unboxed
+    static int standardKey(Student student) {
+        Integer standardID = student.getStandardID();
+        return standardID == null ? NO_STANDARD : standardID;
+    }
+
+    // The statistics as the StreamTesting examples compute them: one full scan per question
+    private static long multiPass(List<Student> students, boolean parallel) {
+        Map<Integer, Long> countByAge = stream(students, parallel)
+            .collect(Collectors.groupingBy(Student::getAge, Collectors.counting()));
+        Map<Integer, IntSummaryStatistics> ageByStandard = stream(students, parallel)
+            .collect(Collectors.groupingBy(StreamAggregationTesting::standardKey,
+                    Collectors.summarizingInt(Student::getAge)));
+        boolean allTeens = stream(students, parallel)
+            .allMatch(s -> s.getAge() > 12 && s.getAge() < 20);
+        boolean anyTeen = stream(students, parallel)
+            .anyMatch(s -> s.getAge() > 12 && s.getAge() < 20);
+        List<Student> youngest = stream(students, parallel)
+            .sorted(Comparator.comparingInt(Student::getAge).thenComparingInt(Student::getStudentID))
+            .limit(10)
+            .collect(Collectors.toList());
+        return countByAge.size() + ageByStandard.size() + (allTeens ? 1 : 0) + (anyTeen ? 1 : 0)
+                + youngest.get(0).getStudentID();
+    }
+
+    // The same statistics computed in one scan
+    private static long singlePass(List<Student> students, boolean parallel) {
+        MultiAggregator<Student> aggregator = new MultiAggregator<>();
+        AggregateKey<IntGroupStats<Student>> byAge =
+            aggregator.add(new IntGroupStats<>(Student::getAge, Student::getAge));
+        AggregateKey<IntGroupStats<Student>> byStandard =
+            aggregator.add(new IntGroupStats<>(StreamAggregationTesting::standardKey, Student::getAge));
+        AggregateKey<PredicateCount<Student>> teens =
+            aggregator.add(new PredicateCount<>(s -> s.getAge() > 12 && s.getAge() < 20));
+        AggregateKey<List<Student>> youngest =
+            aggregator.add(new TopK<>(10, Comparator.comparingInt(Student::getAge)
+                    .thenComparingInt(Student::getStudentID)));
+
+        AggregateResults results = stream(students, parallel).collect(aggregator.toCollector());
+        PredicateCount<Student> teenCount = results.get(teens);
+        return results.get(byAge).size() + results.get(byStandard).size()
+                + (teenCount.allMatch() ? 1 : 0) + (teenCount.anyMatch() ? 1 : 0)
+                + results.get(youngest).get(0).getStudentID();
+    }
+
+    private static java.util.stream.Stream<Student> stream(List<Student> students, boolean parallel) {
+        return parallel ? students.parallelStream() : students.stream();
+    }
+
+    private static long time(java.util.function.LongSupplier work) {
+        long start = System.nanoTime();
+        sink += work.getAsLong();
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+
+    private static List<Student> generateStudents(int count) {
+        Random rand = new Random(42);
+        List<Student> students = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            Integer standardID = rand.nextInt(10) == 0 ? null : rand.nextInt(12) + 1;
+            students.add(new Student(i, "Student_" + i, rand.nextInt(15) + 10, standardID));
+        }
+        return students;
+    }
+}
+
+/*
+*** Single-pass statistics ***
+Age Group: 18, Count: 2
+Age Group: 20, Count: 1
+Age Group: 21, Count: 2
+Standard: none, Min Age: 21, Max Age: 21, Avg Age: 21.0
+Standard: 1, Min Age: 18, Max Age: 21, Avg Age: 19.5
+Standard: 2, Min Age: 18, Max Age: 20, Avg Age: 19.0
+All teenagers? false, Any teenager? true (2 of 5)
+Youngest: Siva
+Youngest: Venky
+*** Multi-pass vs single-pass (1000000 students) ***
+Round 1 :: multi-pass 1034 ms, single-pass 255 ms | parallel multi-pass 519 ms, single-pass 122 ms
+Round 2 :: multi-pass 321 ms, single-pass 87 ms | parallel multi-pass 304 ms, single-pass 87 ms
+Round 3 :: multi-pass 321 ms, single-pass 86 ms | parallel multi-pass 288 ms, single-pass 84 ms
+Round 4 :: multi-pass 310 ms, single-pass 88 ms | parallel multi-pass 265 ms, single-pass 50 ms
+Round 5 :: multi-pass 200 ms, single-pass 63 ms | parallel multi-pass 178 ms, single-pass 71 ms
+Successfully completed !
+*/
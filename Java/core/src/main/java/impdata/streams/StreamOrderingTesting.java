@@ -0,0 +1,127 @@
+package impdata.streams;
+
+import java.util.*;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+public class StreamOrderingTesting {
+
+    // Size of the generated student list used for the sorted() comparison (override with args[0])
+    private static final int STUDENT_COUNT = 10_000_000;
+
+    // Page size consumed from the ordering
+    private static final int PAGE_SIZE = 10;
+
+    // Timed rounds per variant (the first round doubles as JIT warm-up)
+    private static final int ROUNDS = 3;
+
+    private static volatile long sink;
+
+    public static void main(String[] args) {
+
+        // Student collection
+        List<Student> studentList = Arrays.asList(
+            new Student(1, "Siva", 18, 1),
+            new Student(2, "Ram", 21, 1),
+            new Student(3, "Venky", 18, 2),
+            new Student(4, "Babu", 20, 2),
+            new Student(5, "Krishna", 21, null)
+        );
+
+        Comparator<Student> byNameThenAge = Comparator.comparing(Student::getStudentName)
+                .thenComparingInt(Student::getAge);
+
+        System.out.println("*** ThenBy with OrderBy (first 3) ***");
+        Ordering.top(studentList, 3, byNameThenAge)
+            .forEach(s -> System.out.println(s.getStudentName()));
+
+        System.out.println("*** ThenBy with OrderBy (collector, first 3) ***");
+        studentList.parallelStream()
+            .collect(Ordering.topK(3, byNameThenAge))
+            .forEach(s -> System.out.println(s.getStudentName()));
+
+        System.out.println("*** OrderBy Age (int key) ***");
+        Ordering.sortedByInt(studentList, Student::getAge)
+            .forEach(s -> System.out.println(s.getAge() + " " + s.getStudentName()));
+
+        System.out.println("*** OrderBy Age (int key, first 2) ***");
+        Ordering.topByInt(studentList, 2, Student::getAge)
+            .forEach(s -> System.out.println(s.getAge() + " " + s.getStudentName()));
+
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : STUDENT_COUNT;
+        System.out.println("*** Top-" + PAGE_SIZE + " and full sort vs sorted() (" + count + " students) ***");
+        List<Student> generated = generateStudents(count);
+        Comparator<Student> byAge = Comparator.comparingInt(Student::getAge);
+        for (int round = 1; round <= ROUNDS; round++) {
+            System.out.println("Round " + round);
+            report("sorted().limit  name,age", () -> generated.stream()
+                .sorted(byNameThenAge).limit(PAGE_SIZE).collect(Collectors.toList()));
+            report("top heap        name,age", () -> Ordering.top(generated, PAGE_SIZE, byNameThenAge));
+            report("sorted().limit  age", () -> generated.stream()
+                .sorted(byAge).limit(PAGE_SIZE).collect(Collectors.toList()));
+            report("top int heap    age", () -> Ordering.topByInt(generated, PAGE_SIZE, Student::getAge));
+            report("sorted()        name,age", () -> generated.stream()
+                .sorted(byNameThenAge).collect(Collectors.toList()));
+            report("parallel sort   name,age", () -> Ordering.sortedParallel(generated, byNameThenAge));
+            report("sorted()        age", () -> generated.stream()
+                .sorted(byAge).collect(Collectors.toList()));
+            report("int key sort    age", () -> Ordering.sortedByInt(generated, Student::getAge));
+        }
+
+        System.out.println("Successfully completed !");
+    }
+
+    private static void report(String label, Supplier<List<Student>> work) {
+        long start = System.nanoTime();
+        List<Student> result = work.get();
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        sink += result.get(0).getStudentID();
+        System.out.println("  " + label + " :: " + millis + " ms");
+    }
+
+    private static List<Student> generateStudents(int count) {
+        Random rand = new Random(42);
+        String[] names = new String[10_000];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = "Student_" + i;
+        }
+        List<Student> students = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            students.add(new Student(i, names[rand.nextInt(names.length)], rand.nextInt(15) + 10, rand.nextInt(12) + 1));
+        }
+        return students;
+    }
+}
+
+/*
+*** ThenBy with OrderBy (first 3) ***
+Babu
+Krishna
+Ram
+*** ThenBy with OrderBy (collector, first 3) ***
+Babu
+Krishna
+Ram
+*** OrderBy Age (int key) ***
+18 Siva
+18 Venky
+20 Babu
+21 Ram
+21 Krishna
+*** OrderBy Age (int key, first 2) ***
+18 Siva
+18 Venky
+*** Top-10 and full sort vs sorted() (10000000 students) ***
+(run with -Xmx3g on a single-core machine, so parallelSort has nothing to split onto)
+...
+Round 3
+  sorted().limit  name,age :: 10356 ms
+  top heap        name,age :: 197 ms
+  sorted().limit  age :: 1345 ms
+  top int heap    age :: 63 ms
+  sorted()        name,age :: 9512 ms
+  parallel sort   name,age :: 11579 ms
+  sorted()        age :: 3248 ms
+  int key sort    age :: 1303 ms
+Successfully completed !
+*/
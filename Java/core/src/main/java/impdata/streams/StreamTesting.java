@@ -1,9 +1,11 @@
+package impdata.streams;
+
 import java.util.*;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
-public class Main {
+public class StreamTesting {
     public static void main(String[] args) {
 
         // Student collection
@@ -105,47 +107,3 @@ public class Main {
         System.out.println("Successfully completed !");
     }
 }
-
-class Student {
-    private int studentID;
-    private String studentName;
-    private int age;
-    private Integer standardID; // nullable
-
-    public Student(int studentID, String studentName, int age, Integer standardID) {
-        this.studentID = studentID;
-        this.studentName = studentName;
-        this.age = age;
-        this.standardID = standardID;
-    }
-
-    public int getStudentID() { return studentID; }
-    public String getStudentName() { return studentName; }
-    public int getAge() { return age; }
-    public Integer getStandardID() { return standardID; }
-}
-
-class Standard {
-    private int standardID;
-    private String standardName;
-
-    public Standard(int standardID, String standardName) {
-        this.standardID = standardID;
-        this.standardName = standardName;
-    }
-
-    public int getStandardID() { return standardID; }
-    public String getStandardName() { return standardName; }
-}
-
-// Custom comparator like C#'s StudentComparer
-class StudentComparer implements Comparator<Student> {
-    @Override
-    public int compare(Student s1, Student s2) {
-        return Integer.compare(s1.getStudentID(), s2.getStudentID());
-    }
-
-    public boolean equals(Student s1, Student s2) {
-        return s1 != null && s2 != null && s1.getStudentID() == s2.getStudentID();
-    }
-}
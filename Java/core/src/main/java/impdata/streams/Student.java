@@ -0,0 +1,20 @@
+package impdata.streams;
+
+public class Student {
+    private int studentID;
+    private String studentName;
+    private int age;
+    private Integer standardID; // nullable
+
+    public Student(int studentID, String studentName, int age, Integer standardID) {
+        this.studentID = studentID;
+        this.studentName = studentName;
+        this.age = age;
+        this.standardID = standardID;
+    }
+
+    public int getStudentID() { return studentID; }
+    public String getStudentName() { return studentName; }
+    public int getAge() { return age; }
+    public Integer getStandardID() { return standardID; }
+}
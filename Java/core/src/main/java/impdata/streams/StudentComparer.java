@@ -0,0 +1,15 @@
+package impdata.streams;
+
+import java.util.*;
+
+// Custom comparator like C#'s StudentComparer
+public class StudentComparer implements Comparator<Student> {
+    @Override
+    public int compare(Student s1, Student s2) {
+        return Integer.compare(s1.getStudentID(), s2.getStudentID());
+    }
+
+    public boolean equals(Student s1, Student s2) {
+        return s1 != null && s2 != null && s1.getStudentID() == s2.getStudentID();
+    }
+}
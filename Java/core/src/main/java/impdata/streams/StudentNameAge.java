@@ -0,0 +1,4 @@
+package impdata.streams;
+
+// Flat projection of a Student for the Select example: one object, no boxed age
+public record StudentNameAge(String name, int age) {}
@@ -0,0 +1,37 @@
+package impdata.streams;
+
+import java.util.*;
+
+// The k smallest elements by a comparator, kept in a bounded max-heap instead of sorting everything;
+// equal elements keep encounter order, parallel streams included
+public class TopK<T> implements Aggregate<T, List<T>> {
+    private final int k;
+    private final Comparator<? super T> comparator;
+    private final BoundedHeap<T> heap;
+
+    public TopK(int k, Comparator<? super T> comparator) {
+        this.k = k;
+        this.comparator = comparator;
+        this.heap = new BoundedHeap<>(k, comparator);
+    }
+
+    @Override
+    public Aggregate<T, List<T>> newInstance() {
+        return new TopK<>(k, comparator);
+    }
+
+    @Override
+    public void accept(T element) {
+        heap.offer(element);
+    }
+
+    @Override
+    public void merge(Aggregate<T, List<T>> other) {
+        heap.merge(((TopK<T>) other).heap);
+    }
+
+    @Override
+    public List<T> result() {
+        return heap.toSortedList();
+    }
+}
@@ -0,0 +1,166 @@
+package impdata.collections;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Field;
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GenericListTest {
+
+    private static GenericList<Integer> failFast(int size) {
+        GenericList<Integer> list = new GenericList<>();
+        IntStream.range(0, size).forEach(list::add);
+        return list;
+    }
+
+    private static GenericList<Integer> snapshot(int size) {
+        GenericList<Integer> list = new GenericList<>(GenericList.IterationMode.SNAPSHOT);
+        IntStream.range(0, size).forEach(list::add);
+        return list;
+    }
+
+    // Runs the same edits on both lists and checks they end up equal
+    private static void sameAs(List<Integer> expected, List<Integer> actual, Consumer<List<Integer>> edit) {
+        edit.accept(expected);
+        edit.accept(actual);
+        assertEquals(expected, actual);
+        assertEquals(expected.hashCode(), actual.hashCode());
+    }
+
+    @Test
+    void editsLikeArrayList() {
+        List<Integer> expected = new ArrayList<>(List.of(0, 1, 2, 3, 4));
+        GenericList<Integer> actual = failFast(5);
+        sameAs(expected, actual, list -> list.add(2, 9));
+        sameAs(expected, actual, list -> list.remove(0));
+        sameAs(expected, actual, list -> list.set(1, 7));
+        sameAs(expected, actual, list -> list.addAll(List.of(5, 6, 7)));
+        sameAs(expected, actual, list -> list.removeIf(n -> n % 2 == 1));
+        sameAs(expected, actual, list -> list.addAll(List.of()));
+        sameAs(expected, actual, list -> list.remove(Integer.valueOf(7)));
+        sameAs(expected, actual, list -> list.addAll(List.of(1, 2, 3, 4)));
+        sameAs(expected, actual, list -> list.removeAll(List.of(2, 3)));
+        sameAs(expected, actual, list -> list.retainAll(List.of(1, 4, 6)));
+        sameAs(expected, actual, List::clear);
+        sameAs(expected, actual, list -> list.add(null));
+        assertThrows(IndexOutOfBoundsException.class, () -> actual.get(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> actual.add(3, 1));
+    }
+
+    @Test
+    void failFastIterationThrowsLikeArrayList() {
+        for (List<Integer> list : List.of(new ArrayList<>(List.of(0, 1, 2)), failFast(3))) {
+            Iterator<Integer> iterator = list.iterator();
+            iterator.next();
+            list.add(3);
+            assertThrows(ConcurrentModificationException.class, iterator::next, list.getClass().getSimpleName());
+            assertThrows(ConcurrentModificationException.class, () -> list.forEach(n -> list.add(n)));
+            assertThrows(ConcurrentModificationException.class,
+                    () -> list.removeIf(n -> n == 0 && list.add(9)));
+        }
+    }
+
+    @Test
+    void failFastAllowsSetAndIteratorRemove() {
+        List<Integer> expected = new ArrayList<>(List.of(0, 1, 2, 3));
+        GenericList<Integer> actual = failFast(4);
+        sameAs(expected, actual, list -> {
+            for (ListIterator<Integer> it = list.listIterator(); it.hasNext(); ) {
+                int index = it.nextIndex();
+                list.set(index, it.next() * 10);
+            }
+        });
+        sameAs(expected, actual, list -> {
+            for (Iterator<Integer> it = list.iterator(); it.hasNext(); ) {
+                if (it.next() == 10) it.remove();
+            }
+        });
+    }
+
+    @Test
+    void failFastSpliteratorThrowsAfterAChange() {
+        GenericList<Integer> list = failFast(4);
+        Spliterator<Integer> spliterator = list.spliterator();
+        spliterator.tryAdvance(n -> {});
+        list.add(4);
+        assertThrows(ConcurrentModificationException.class, () -> spliterator.tryAdvance(n -> {}));
+    }
+
+    @Test
+    void snapshotIterationActsLikeCopyOnWriteArrayList() {
+        List<Integer> expected = new CopyOnWriteArrayList<>(List.of(0, 1, 2, 3));
+        GenericList<Integer> actual = snapshot(4);
+        for (List<Integer> list : List.of(expected, actual)) {
+            List<Integer> seen = new ArrayList<>();
+            for (Integer n : list) {
+                seen.add(n);
+                if (n == 1) {
+                    list.add(10);
+                    list.remove(Integer.valueOf(0));
+                    list.set(0, 11);
+                }
+            }
+            assertEquals(List.of(0, 1, 2, 3), seen, list.getClass().getSimpleName());
+            assertThrows(UnsupportedOperationException.class, () -> {
+                Iterator<Integer> it = list.iterator();
+                it.next();
+                it.remove();
+            });
+        }
+        assertEquals(expected, actual);
+        sameAs(expected, actual, list -> list.removeAll(List.of(2, 10)));
+        sameAs(expected, actual, list -> list.retainAll(List.of(3)));
+    }
+
+    @Test
+    void snapshotStreamSeesTheListAsItWas() {
+        GenericList<Integer> list = snapshot(1_000);
+        Spliterator<Integer> spliterator = list.spliterator();
+        assertTrue(spliterator.hasCharacteristics(Spliterator.IMMUTABLE));
+        list.clear();
+        list.add(-1);
+        int[] sum = new int[1];
+        spliterator.forEachRemaining(n -> sum[0] += n);
+        assertEquals(999 * 1_000 / 2, sum[0]);
+
+        GenericList<Integer> parallel = snapshot(10_000);
+        assertEquals(IntStream.range(0, 10_000).boxed().collect(Collectors.toList()),
+                parallel.parallelStream().collect(Collectors.toList()));
+    }
+
+    @Test
+    void snapshotReadToTheEndDoesNotForceACopy() throws ReflectiveOperationException {
+        GenericList<Integer> list = snapshot(5);
+        list.add(5); // leaves spare capacity
+        Object[] before = backingArray(list);
+
+        for (Integer n : list) {
+            assertNotNull(n);
+        }
+        list.stream().mapToInt(Integer::intValue).sum();
+        list.parallelStream().mapToInt(Integer::intValue).sum();
+        list.add(6);
+        assertSame(before, backingArray(list));
+
+        // Abandoned midway: the next change copies once, then the copy is private again
+        list.iterator().next();
+        list.add(7);
+        Object[] copied = backingArray(list);
+        assertNotSame(before, copied);
+        list.set(0, 100);
+        assertSame(copied, backingArray(list));
+        assertEquals(List.of(100, 1, 2, 3, 4, 5, 6, 7), list);
+    }
+
+    private static Object[] backingArray(GenericList<?> list) throws ReflectiveOperationException {
+        Field elements = GenericList.class.getDeclaredField("elements");
+        elements.setAccessible(true);
+        return (Object[]) elements.get(list);
+    }
+}
@@ -0,0 +1,110 @@
+package impdata.collections;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MpmcArrayQueueTest {
+
+    @Test
+    void roundsCapacityUpToAPowerOfTwo() {
+        assertEquals(2, new MpmcArrayQueue<>(1).capacity());
+        assertEquals(8, new MpmcArrayQueue<>(8).capacity());
+        assertEquals(16, new MpmcArrayQueue<>(9).capacity());
+    }
+
+    @Test
+    void isFifoAndReportsFullAndEmpty() {
+        MpmcArrayQueue<Integer> queue = new MpmcArrayQueue<>(4);
+        assertNull(queue.poll());
+        assertTrue(queue.isEmpty());
+        // Several laps round the ring
+        for (int lap = 0; lap < 3; lap++) {
+            for (int i = 0; i < 4; i++) {
+                assertTrue(queue.offer(lap * 10 + i));
+            }
+            assertFalse(queue.offer(-1));
+            assertEquals(4, queue.size());
+            for (int i = 0; i < 4; i++) {
+                assertEquals(lap * 10 + i, queue.poll());
+            }
+            assertNull(queue.poll());
+        }
+        assertThrows(NullPointerException.class, () -> queue.offer(null));
+    }
+
+    @Test
+    void deliversEveryElementExactlyOnceAcrossThreads() throws InterruptedException {
+        int producers = 4;
+        int consumers = 4;
+        int perProducer = 50_000;
+        int total = producers * perProducer;
+        // Small, so producers keep finding it full and consumers keep finding it empty. The test
+        // threads yield rather than spin when they do, or on one CPU they starve each other.
+        MpmcArrayQueue<Integer> queue = new MpmcArrayQueue<>(16);
+        AtomicIntegerArray seen = new AtomicIntegerArray(total);
+        AtomicInteger consumed = new AtomicInteger();
+        AtomicInteger outOfOrder = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+
+        for (int p = 0; p < producers; p++) {
+            int first = p * perProducer;
+            threads.add(new Thread(() -> {
+                await(start);
+                for (int i = first; i < first + perProducer; i++) {
+                    while (!queue.offer(i)) {
+                        Thread.yield();
+                    }
+                }
+            }));
+        }
+        for (int c = 0; c < consumers; c++) {
+            threads.add(new Thread(() -> {
+                await(start);
+                // One producer's elements must reach any one consumer in the order offered
+                int[] last = new int[producers];
+                Arrays.fill(last, -1);
+                while (consumed.get() < total) {
+                    Integer element = queue.poll();
+                    if (element == null) {
+                        Thread.yield();
+                        continue;
+                    }
+                    seen.incrementAndGet(element);
+                    int producer = element / perProducer;
+                    if (element <= last[producer]) outOfOrder.incrementAndGet();
+                    last[producer] = element;
+                    consumed.incrementAndGet();
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join(60_000);
+            assertFalse(thread.isAlive(), "stuck thread");
+        }
+
+        for (int i = 0; i < total; i++) {
+            assertEquals(1, seen.get(i), "element " + i);
+        }
+        assertEquals(0, outOfOrder.get());
+        assertTrue(queue.isEmpty());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
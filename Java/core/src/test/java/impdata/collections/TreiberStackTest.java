@@ -0,0 +1,70 @@
+package impdata.collections;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TreiberStackTest {
+
+    @Test
+    void isLifo() {
+        TreiberStack<String> stack = new TreiberStack<>();
+        assertNull(stack.pop());
+        assertNull(stack.peek());
+        stack.push("a");
+        stack.push("b");
+        assertEquals("b", stack.peek());
+        assertEquals("b", stack.pop());
+        assertEquals("a", stack.pop());
+        assertTrue(stack.isEmpty());
+        assertThrows(NullPointerException.class, () -> stack.push(null));
+    }
+
+    @Test
+    void losesAndDuplicatesNothingUnderContention() throws InterruptedException {
+        int threads = 4;
+        int perThread = 50_000;
+        TreiberStack<Integer> stack = new TreiberStack<>();
+        AtomicIntegerArray popped = new AtomicIntegerArray(threads * perThread);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>();
+
+        // Each thread pushes its own range and pops after every other push
+        for (int t = 0; t < threads; t++) {
+            int first = t * perThread;
+            workers.add(new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = first; i < first + perThread; i++) {
+                    stack.push(i);
+                    if ((i & 1) == 1) {
+                        Integer element = stack.pop();
+                        if (element != null) popped.incrementAndGet(element);
+                    }
+                }
+            }));
+        }
+        workers.forEach(Thread::start);
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join(60_000);
+            assertFalse(worker.isAlive(), "stuck thread");
+        }
+        for (Integer element = stack.pop(); element != null; element = stack.pop()) {
+            popped.incrementAndGet(element);
+        }
+
+        for (int i = 0; i < popped.length(); i++) {
+            assertEquals(1, popped.get(i), "element " + i);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package impdata.streams;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StreamAggregationTestingTest {
+
+    @Test
+    void keepsStudentsWithoutAStandardApartFromStandardZero() {
+        List<Student> students = List.of(
+            new Student(1, "Siva", 18, 0),
+            new Student(2, "Ram", 21, null),
+            new Student(3, "Venky", 19, 0)
+        );
+        IntGroupStats<Student> byStandard = new IntGroupStats<>(StreamAggregationTesting::standardKey, Student::getAge);
+        students.forEach(byStandard::accept);
+
+        assertArrayEquals(new int[] { StreamAggregationTesting.NO_STANDARD, 0 }, byStandard.keys());
+        assertEquals(1, byStandard.count(StreamAggregationTesting.NO_STANDARD));
+        assertEquals(21, byStandard.max(StreamAggregationTesting.NO_STANDARD));
+        assertEquals(2, byStandard.count(0));
+        assertEquals(18.5, byStandard.average(0));
+    }
+}
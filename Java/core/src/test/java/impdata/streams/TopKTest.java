@@ -0,0 +1,52 @@
+package impdata.streams;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TopKTest {
+
+    // Many ties: 10,000 elements over 7 keys
+    private static final List<int[]> INPUT = IntStream.range(0, 10_000)
+            .mapToObj(i -> new int[] { (i * 31) % 7, i })
+            .collect(Collectors.toList());
+    private static final Comparator<int[]> BY_KEY = Comparator.comparingInt(pair -> pair[0]);
+
+    // What a stable sort followed by limit(k) picks, as input positions
+    private static List<Integer> expected(int k) {
+        return INPUT.stream().sorted(BY_KEY).limit(k).map(pair -> pair[1]).collect(Collectors.toList());
+    }
+
+    private static List<Integer> positions(List<int[]> pairs) {
+        return pairs.stream().map(pair -> pair[1]).collect(Collectors.toList());
+    }
+
+    @Test
+    void keepsEncounterOrderAmongTies() {
+        for (int k : new int[] { 1, 5, 1_000, 1_500, 20_000 }) {
+            assertEquals(expected(k), positions(Ordering.top(INPUT, k, BY_KEY)), "top " + k);
+            assertEquals(expected(k), positions(INPUT.stream().collect(Ordering.topK(k, BY_KEY))), "topK " + k);
+        }
+    }
+
+    @Test
+    void keepsEncounterOrderWhenParallelSplitsAreMerged() {
+        for (int k : new int[] { 1, 1_000, 1_500 }) {
+            assertEquals(expected(k), positions(INPUT.parallelStream().collect(Ordering.topK(k, BY_KEY))));
+
+            MultiAggregator<int[]> aggregator = new MultiAggregator<>();
+            AggregateKey<List<int[]>> top = aggregator.add(new TopK<>(k, BY_KEY));
+            AggregateResults results = INPUT.parallelStream().collect(aggregator.toCollector());
+            assertEquals(expected(k), positions(results.get(top)));
+        }
+    }
+
+    @Test
+    void refusesANonPositiveK() {
+        assertThrows(IllegalArgumentException.class, () -> new TopK<>(0, BY_KEY));
+    }
+}